@@ -0,0 +1,119 @@
+package com.movieapp.benchmarks;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.movieapp.catalog.MovieCatalog;
+import com.movieapp.catalog.MovieCatalogSource;
+import com.movieapp.config.ResponseWeigher;
+import com.movieapp.dto.BatchResponseDto;
+import com.movieapp.dto.MovieDetailDto;
+import com.movieapp.service.DetailKey;
+import com.movieapp.service.MovieBatchService;
+import com.movieapp.service.MovieCatalogManager;
+import com.movieapp.service.MovieMetrics;
+import com.movieapp.service.OmdbClient;
+import com.movieapp.service.Plot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One batch lookup against {@code batchSize} single lookups through the {@code movieDetail}
+ * cache, the way the {@code @Cacheable(sync = true)} proxy does them, with the cache warm or
+ * emptied before every call. In-process only: the HTTP round trips a batch saves come on top.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchDetailBenchmark {
+
+    @Param({"100000"})
+    int catalogSize;
+
+    @Param({"20", "50"})
+    int batchSize;
+
+    @Param({"warm", "cold"})
+    String cache;
+
+    private MovieCatalog catalog;
+    private Cache detailCache;
+    private MovieBatchService batchService;
+    private List<List<String>> batches;
+    private int cursor;
+
+    @Setup
+    public void setup() throws IOException {
+        List<MovieDetailDto> movies = SyntheticCatalog.generate(catalogSize, 42);
+        MovieCatalogSource source = SyntheticCatalog.source(movies);
+        MovieCatalogManager manager = new MovieCatalogManager(source, event -> { }, "heap", false, "", false);
+        catalog = manager.current();
+
+        // Mesma configuração do movieDetail em CacheConfig, sem o refresh
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache("movieDetail", Caffeine.newBuilder()
+                .maximumWeight(256L << 20)
+                .weigher(new ResponseWeigher())
+                .build());
+        detailCache = cacheManager.getCache("movieDetail");
+        batchService = new MovieBatchService(manager, OmdbClient.disabled(), MovieMetrics.noop(), cacheManager, batchSize);
+
+        // Uma página típica: posters espalhados pelo catálogo e um id inexistente
+        Random random = new Random(7);
+        batches = new ArrayList<>(64);
+        for (int b = 0; b < 64; b++) {
+            String[] ids = new String[batchSize];
+            for (int i = 0; i < batchSize; i++) {
+                ids[i] = movies.get(random.nextInt(catalogSize)).imdbId();
+            }
+            ids[batchSize - 1] = "tt0000000";
+            batches.add(Arrays.asList(ids));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        if (cache.equals("cold")) {
+            detailCache.clear();
+        }
+    }
+
+    private List<String> nextBatch() {
+        return batches.get(cursor++ & (batches.size() - 1));
+    }
+
+    @Benchmark
+    public BatchResponseDto batch() {
+        return batchService.getMoviesByIds(nextBatch());
+    }
+
+    @Benchmark
+    public List<MovieDetailDto> singleCalls() {
+        List<String> ids = nextBatch();
+        List<MovieDetailDto> results = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            results.add(detailCache.get(new DetailKey(id, Plot.SHORT), () -> catalog.findById(id).orElse(null)));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,33 @@
+package com.movieapp.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of {@code benchmarks.jar}: the JMH command line, with the GC profiler on
+ * (allocation rate and bytes per operation) and results written as JSON to
+ * {@code jmh-result.json}, unless the arguments already choose a profiler or a result file.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        // -h, -l e afins só listam: nada de profiler nem arquivo de resultado
+        boolean listing = options.stream().anyMatch(o -> o.equals("-h") || o.startsWith("-l"));
+        if (!listing) {
+            if (!options.contains("-prof")) {
+                options.addAll(0, List.of("-prof", "gc"));
+            }
+            if (!options.contains("-rf") && !options.contains("-rff")) {
+                options.addAll(0, List.of("-rf", "json", "-rff", "jmh-result.json"));
+            }
+        }
+        Main.main(options.toArray(String[]::new));
+    }
+}
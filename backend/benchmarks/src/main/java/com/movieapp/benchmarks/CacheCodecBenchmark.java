@@ -0,0 +1,103 @@
+package com.movieapp.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.movieapp.catalog.MovieQuery;
+import com.movieapp.catalog.SortOrder;
+import com.movieapp.dto.MovieDetailDto;
+import com.movieapp.dto.SearchResponseDto;
+import com.movieapp.service.CacheCodec;
+import com.movieapp.service.MovieCatalogManager;
+import com.movieapp.service.MovieMetrics;
+import com.movieapp.service.MovieService;
+import com.movieapp.service.OmdbClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding of the shared cache tier's entries with {@link CacheCodec}, next to
+ * Jackson doing the same round trip as JSON: a faceted search page and a movie detail. The
+ * setup prints both sizes of each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheCodecBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SearchResponseDto page;
+    private MovieDetailDto detail;
+    private byte[] pageBinary;
+    private byte[] pageJson;
+    private byte[] detailBinary;
+    private byte[] detailJson;
+
+    @Setup
+    public void setup() throws IOException {
+        List<MovieDetailDto> movies = SyntheticCatalog.generate(10_000, 42);
+        MovieService service = new MovieService(new MovieCatalogManager(SyntheticCatalog.source(movies), event -> { }, "heap", false, "", false),
+                OmdbClient.disabled(), MovieMetrics.noop());
+        page = service.searchMovies(new MovieQuery("the", null, null), SortOrder.RELEVANCE, 1, true);
+        detail = movies.get(0);
+        pageBinary = CacheCodec.encodeValue(page);
+        pageJson = objectMapper.writeValueAsBytes(page);
+        detailBinary = CacheCodec.encodeValue(detail);
+        detailJson = objectMapper.writeValueAsBytes(detail);
+        System.out.printf("%nsearch page: %d bytes binary, %d bytes JSON; detail: %d bytes binary, %d bytes JSON%n",
+                pageBinary.length, pageJson.length, detailBinary.length, detailJson.length);
+    }
+
+    @Benchmark
+    public byte[] encodeSearchPage() {
+        return CacheCodec.encodeValue(page);
+    }
+
+    @Benchmark
+    public Object decodeSearchPage() {
+        return CacheCodec.decodeValue(pageBinary);
+    }
+
+    @Benchmark
+    public byte[] encodeSearchPageJson() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public Object decodeSearchPageJson() throws IOException {
+        return objectMapper.readValue(pageJson, SearchResponseDto.class);
+    }
+
+    @Benchmark
+    public byte[] encodeDetail() {
+        return CacheCodec.encodeValue(detail);
+    }
+
+    @Benchmark
+    public Object decodeDetail() {
+        return CacheCodec.decodeValue(detailBinary);
+    }
+
+    @Benchmark
+    public byte[] encodeDetailJson() throws IOException {
+        return objectMapper.writeValueAsBytes(detail);
+    }
+
+    @Benchmark
+    public Object decodeDetailJson() throws IOException {
+        return objectMapper.readValue(detailJson, MovieDetailDto.class);
+    }
+}
@@ -0,0 +1,80 @@
+package com.movieapp.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.movieapp.catalog.MovieQuery;
+import com.movieapp.dto.MovieDetailDto;
+import com.movieapp.service.MovieCatalogManager;
+import com.movieapp.service.MovieExportService;
+import com.movieapp.service.MovieMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A whole-catalog NDJSON export into a stream that only counts bytes, plain and gzipped: the
+ * server side of {@code /api/movies/export} without the network. Divide the catalog size by the
+ * score for rows per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ExportBenchmark {
+
+    @Param({"100000", "1000000"})
+    int catalogSize;
+
+    private MovieExportService exports;
+
+    @Setup
+    public void setup() throws IOException {
+        List<MovieDetailDto> movies = SyntheticCatalog.generate(catalogSize, 42);
+        MovieCatalogManager manager = new MovieCatalogManager(SyntheticCatalog.source(movies), event -> { }, "heap", false, "", false);
+        exports = new MovieExportService(manager, new ObjectMapper(), MovieMetrics.noop());
+    }
+
+    @Benchmark
+    public long ndjson() throws IOException {
+        return export(false);
+    }
+
+    @Benchmark
+    public long ndjsonGzip() throws IOException {
+        return export(true);
+    }
+
+    private long export(boolean gzip) throws IOException {
+        CountingStream out = new CountingStream();
+        exports.export(new MovieQuery(null, null, null)).writeTo(out, gzip);
+        return out.bytes;
+    }
+
+    private static final class CountingStream extends OutputStream {
+        long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.movieapp.benchmarks;
+
+import com.movieapp.catalog.CompactMovieStore;
+import com.movieapp.catalog.HeapFootprint;
+import com.movieapp.dto.MovieDetailDto;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+
+/**
+ * Measures retained heap of the catalog as {@code List<MovieDetailDto>} versus
+ * {@link CompactMovieStore}. Run with a fixed heap, e.g.
+ * {@code java -Xmx8g -cp benchmarks.jar com.movieapp.benchmarks.FootprintReport 1000000}.
+ */
+public final class FootprintReport {
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        long base = usedHeap(memory);
+        List<MovieDetailDto> movies = SyntheticCatalog.generate(size, 42);
+        long listHeap = usedHeap(memory) - base;
+        long listEstimate = HeapFootprint.of(movies);
+
+        CompactMovieStore.Builder builder = CompactMovieStore.builder();
+        movies.forEach(builder::add);
+        movies = null;
+        CompactMovieStore store = builder.build();
+        builder = null;
+        long compactHeap = usedHeap(memory) - base;
+
+        System.out.printf("records                     %,d%n", store.size());
+        System.out.printf("List<MovieDetailDto> heap   %,d bytes measured, %,d estimated%n", listHeap, listEstimate);
+        System.out.printf("compact store heap          %,d bytes measured, %,d estimated%n", compactHeap, store.heapBytes());
+        System.out.printf("compact store off-heap      %,d bytes%n", store.offHeapBytes());
+        System.out.printf("heap reduction              %.1fx%n", (double) listHeap / Math.max(compactHeap, 1));
+    }
+
+    private static long usedHeap(MemoryMXBean memory) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
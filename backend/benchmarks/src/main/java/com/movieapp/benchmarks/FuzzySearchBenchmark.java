@@ -0,0 +1,109 @@
+package com.movieapp.benchmarks;
+
+import com.movieapp.catalog.FuzzyTitleIndex;
+import com.movieapp.catalog.RowIterator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typo lookups on {@link FuzzyTitleIndex}. Titles are drawn from a large generated vocabulary
+ * with a skewed word frequency, so the trie has the size and shape of a real catalog's rather
+ * than the few dozen words of {@link SyntheticCatalog}. Queries are misspelled vocabulary words.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FuzzySearchBenchmark {
+
+    private static final String[] SYLLABLES = {
+            "ka", "lo", "mer", "tin", "sha", "wen", "dor", "ri", "ves", "pa", "nu", "gal", "ter", "ost",
+            "mi", "ran", "bel", "que", "zo", "har", "lin", "ce", "ta", "mon", "ark", "el", "us", "vi"
+    };
+
+    @Param({"100000", "1000000"})
+    int catalogSize;
+
+    @Param({"1", "2"})
+    int edits;
+
+    private FuzzyTitleIndex index;
+    private String[] queries;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        String[] vocabulary = new String[Math.max(catalogSize / 4, 1000)];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = word(random);
+        }
+
+        List<String> titles = new ArrayList<>(catalogSize);
+        for (int i = 0; i < catalogSize; i++) {
+            int words = 1 + random.nextInt(4);
+            StringBuilder title = new StringBuilder();
+            for (int w = 0; w < words; w++) {
+                title.append(w > 0 ? " " : "").append(vocabulary[skewed(random, vocabulary.length)]);
+            }
+            titles.add(title.toString());
+        }
+        index = FuzzyTitleIndex.build(titles);
+
+        queries = new String[1024];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = misspell(vocabulary[skewed(random, vocabulary.length)], random);
+        }
+    }
+
+    @Benchmark
+    public int lookup() {
+        RowIterator rows = index.search(queries[cursor++ & (queries.length - 1)], edits);
+        return rows.next();
+    }
+
+    @Benchmark
+    public int lookupAndCount() {
+        RowIterator rows = index.search(queries[cursor++ & (queries.length - 1)], edits);
+        return rows.remaining();
+    }
+
+    private static String word(Random random) {
+        StringBuilder word = new StringBuilder();
+        for (int s = 2 + random.nextInt(3); s > 0; s--) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return word.toString();
+    }
+
+    // Frequência de palavras com cauda longa, como em títulos reais
+    private static int skewed(Random random, int bound) {
+        return (int) (Math.pow(random.nextDouble(), 3) * bound);
+    }
+
+    private static String misspell(String word, Random random) {
+        int at = random.nextInt(word.length());
+        char typo = (char) ('a' + random.nextInt(26));
+        return switch (random.nextInt(3)) {
+            case 0 -> word.substring(0, at) + typo + word.substring(at + 1);
+            case 1 -> word.substring(0, at) + typo + word.substring(at);
+            default -> word.substring(0, at) + word.substring(at + 1);
+        };
+    }
+}
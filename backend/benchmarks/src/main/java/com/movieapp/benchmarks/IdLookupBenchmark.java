@@ -0,0 +1,87 @@
+package com.movieapp.benchmarks;
+
+import com.movieapp.catalog.MovieIdIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup latency of {@link MovieIdIndex} as the catalog grows, against a String-keyed
+ * HashMap and the linear scan previously used by getMovieById.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdLookupBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int catalogSize;
+
+    private List<String> ids;
+    private MovieIdIndex index;
+    private Map<String, Integer> hashMap;
+    private String[] queries;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        ids = new ArrayList<>(catalogSize);
+        hashMap = new HashMap<>();
+        for (int i = 0; i < catalogSize; i++) {
+            String id = String.format("tt%07d", random.nextInt(9_999_999));
+            ids.add(id);
+            hashMap.putIfAbsent(id, i);
+        }
+        index = MovieIdIndex.build(ids);
+
+        // Cópias novas: o hash da String não fica memorizado, como numa requisição real
+        queries = new String[1024];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = new String(ids.get(random.nextInt(catalogSize)).toCharArray());
+        }
+    }
+
+    private String nextQuery() {
+        return queries[cursor++ & (queries.length - 1)];
+    }
+
+    @Benchmark
+    public int idIndex() {
+        return index.rowOf(nextQuery());
+    }
+
+    @Benchmark
+    public Integer stringHashMap() {
+        return hashMap.get(new String(nextQuery().toCharArray()));
+    }
+
+    @Benchmark
+    public int linearScan() {
+        String query = nextQuery();
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i).equals(query)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,121 @@
+package com.movieapp.benchmarks;
+
+import com.movieapp.catalog.MovieQuery;
+import com.movieapp.catalog.SortOrder;
+import com.movieapp.dto.MovieDetailDto;
+import com.movieapp.dto.SearchResponseDto;
+import com.movieapp.service.MovieCatalogManager;
+import com.movieapp.service.MovieMetrics;
+import com.movieapp.service.MovieService;
+import com.movieapp.service.OmdbClient;
+import com.movieapp.service.Plot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link MovieService} entry points behind the REST endpoints, without the caches, as the
+ * catalog grows: a selective and a broad search (with and without facet counts), a detail
+ * lookup, and the first, middle and last pages of the unfiltered listing, by page number and
+ * by cursor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class MovieServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    int catalogSize;
+
+    private MovieService service;
+    private String[] ids;
+    private int cursor;
+
+    @Setup
+    public void setup() throws IOException {
+        List<MovieDetailDto> movies = SyntheticCatalog.generate(catalogSize, 42);
+        service = new MovieService(new MovieCatalogManager(SyntheticCatalog.source(movies), event -> { }, "heap", false, "", false),
+                OmdbClient.disabled(), MovieMetrics.noop());
+
+        // Cópias novas: o hash da String não fica memorizado, como numa requisição real
+        Random random = new Random(7);
+        ids = new String[1024];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = new String(movies.get(random.nextInt(catalogSize)).imdbId().toCharArray());
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Listing {
+
+        @Param({"first", "middle", "last"})
+        String depth;
+
+        int page;
+        String cursor;
+
+        @Setup
+        public void setup(MovieServiceBenchmark benchmark) {
+            int pages = (benchmark.catalogSize + 9) / 10;
+            page = switch (depth) {
+                case "first" -> 1;
+                case "middle" -> pages / 2;
+                default -> pages;
+            };
+            // O cursor vem da página anterior, como o cliente o receberia
+            cursor = page == 1 ? null : benchmark.service.getAllMovies(page - 1).next();
+        }
+    }
+
+    @Benchmark
+    public SearchResponseDto searchSelective() {
+        return service.searchMovies(new MovieQuery("dark knight", null, null), SortOrder.RELEVANCE, 1, false);
+    }
+
+    @Benchmark
+    public SearchResponseDto searchBroad() {
+        return service.searchMovies(new MovieQuery("the", null, null), SortOrder.RELEVANCE, 1, false);
+    }
+
+    @Benchmark
+    public SearchResponseDto searchBroadWithFacets() {
+        return service.searchMovies(new MovieQuery("the", null, null), SortOrder.RELEVANCE, 1, true);
+    }
+
+    @Benchmark
+    public SearchResponseDto searchTypeWithFacets() {
+        return service.searchMovies(new MovieQuery(null, null, "series"), SortOrder.RELEVANCE, 1, true);
+    }
+
+    @Benchmark
+    public Optional<MovieDetailDto> getMovieById() {
+        return service.getMovieById(ids[cursor++ & (ids.length - 1)], Plot.SHORT);
+    }
+
+    @Benchmark
+    public SearchResponseDto allMoviesPage(Listing listing) {
+        return service.getAllMovies(listing.page);
+    }
+
+    @Benchmark
+    public SearchResponseDto allMoviesCursor(Listing listing) {
+        return listing.cursor == null ? service.getAllMovies(1) : service.getAllMoviesAfter(listing.cursor);
+    }
+}
@@ -0,0 +1,85 @@
+package com.movieapp.benchmarks;
+
+import com.movieapp.catalog.MovieCatalog;
+import com.movieapp.catalog.PersonIndex;
+import com.movieapp.catalog.RowIterator;
+import com.movieapp.dto.MovieDetailDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The people index: a name prefix lookup, a whole filmography, and a filmography narrowed by
+ * role and a year range ("films by X after 2005"), which intersects sorted posting lists.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class PeopleBenchmark {
+
+    @Param({"100000", "1000000"})
+    int catalogSize;
+
+    private MovieCatalog catalog;
+    private String[] prefixes;
+    private int[] people;
+    private int cursor;
+    private int sink;
+
+    @Setup
+    public void setup() {
+        List<MovieDetailDto> movies = SyntheticCatalog.generate(catalogSize, 42);
+        catalog = MovieCatalog.of(movies);
+
+        Random random = new Random(7);
+        PersonIndex index = catalog.people();
+        prefixes = new String[1024];
+        people = new int[1024];
+        for (int i = 0; i < prefixes.length; i++) {
+            int person = random.nextInt(index.size());
+            String[] words = index.name(person).split(" ");
+            String word = words[random.nextInt(words.length)];
+            prefixes[i] = word.substring(0, 1 + random.nextInt(word.length()));
+            people[i] = person;
+        }
+    }
+
+    @Benchmark
+    public int search() {
+        return catalog.people().search(prefixes[cursor++ & (prefixes.length - 1)], 10, person -> sink += person);
+    }
+
+    @Benchmark
+    public int filmography() {
+        return drain(catalog.credits(people[cursor++ & (people.length - 1)], null, null, null, null));
+    }
+
+    @Benchmark
+    public int directedAfter2005() {
+        return drain(catalog.credits(people[cursor++ & (people.length - 1)],
+                PersonIndex.Role.DIRECTOR, 2006, null, null));
+    }
+
+    private static int drain(RowIterator rows) {
+        int count = 0;
+        for (int row = rows.next(); row != RowIterator.NO_MORE_ROWS; row = rows.next()) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,78 @@
+package com.movieapp.benchmarks;
+
+import com.movieapp.catalog.MovieCatalogSource;
+import com.movieapp.catalog.MovieQuery;
+import com.movieapp.catalog.SortOrder;
+import com.movieapp.dto.MovieDetailDto;
+import com.movieapp.dto.SearchResponseDto;
+import com.movieapp.service.MovieCatalogManager;
+import com.movieapp.service.MovieMetrics;
+import com.movieapp.service.MovieService;
+import com.movieapp.service.OmdbClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution (use the p99 column) of a ranked search page, straight on
+ * {@link MovieService} without the cache: a selective title, a broad one that matches a large
+ * share of the catalog, and no filter at all, which walks the pre-sorted permutation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class RankingBenchmark {
+
+    @Param({"100000", "1000000"})
+    int catalogSize;
+
+    @Param({"relevance", "rating", "votes", "year", "boxOffice"})
+    String sort;
+
+    private MovieService service;
+    private SortOrder order;
+
+    @Setup
+    public void setup() throws IOException {
+        List<MovieDetailDto> movies = SyntheticCatalog.generate(catalogSize, 42);
+        MovieCatalogSource source = SyntheticCatalog.source(movies);
+        service = new MovieService(new MovieCatalogManager(source, event -> { }, "heap", false, "", false),
+                OmdbClient.disabled(), MovieMetrics.noop());
+        order = SortOrder.fromParam(sort);
+    }
+
+    @Benchmark
+    public SearchResponseDto selective() {
+        return service.searchMovies(new MovieQuery("dark knight", null, null), order, 1, false);
+    }
+
+    @Benchmark
+    public SearchResponseDto broad() {
+        return service.searchMovies(new MovieQuery("the", null, null), order, 1, false);
+    }
+
+    @Benchmark
+    public SearchResponseDto broadDeepPage() {
+        return service.searchMovies(new MovieQuery("the", null, null), order, 50, false);
+    }
+
+    @Benchmark
+    public SearchResponseDto unfiltered() {
+        return service.searchMovies(new MovieQuery("", null, null), order, 1, false);
+    }
+}
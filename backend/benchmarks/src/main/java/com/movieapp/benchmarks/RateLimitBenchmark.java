@@ -0,0 +1,76 @@
+package com.movieapp.benchmarks;
+
+import com.movieapp.service.RateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost per request of {@link RateLimiter#tryAcquire}, the work the rate-limit filter adds, from
+ * one thread and from 16 at once. With a single client every thread hits the same bucket
+ * (worst case for the CAS loop); with many clients they spread over the map. {@code generous}
+ * keeps most requests allowed, {@code strict} makes most of them refused.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimitBenchmark {
+
+    @Param({"1", "100000"})
+    int clients;
+
+    @Param({"generous", "strict"})
+    String limit;
+
+    private RateLimiter limiter;
+    private String[] addresses;
+
+    @Setup
+    public void setup() {
+        limiter = limit.equals("generous")
+                ? new RateLimiter(Integer.MAX_VALUE, 10_000, 200_000)
+                : new RateLimiter(100, 100, 200_000);
+        Random random = new Random(42);
+        addresses = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            addresses[i] = (10 + random.nextInt(200)) + "." + random.nextInt(256) + "."
+                    + random.nextInt(256) + "." + random.nextInt(256);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next = new Random().nextInt(1 << 20);
+    }
+
+    private String next(Cursor cursor) {
+        return addresses[Math.floorMod(cursor.next++ * 0x9E3779B9, addresses.length)];
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long singleThread(Cursor cursor) {
+        return limiter.tryAcquire(next(cursor));
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long contended(Cursor cursor) {
+        return limiter.tryAcquire(next(cursor));
+    }
+}
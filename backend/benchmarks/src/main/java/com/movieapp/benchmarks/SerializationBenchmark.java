@@ -0,0 +1,74 @@
+package com.movieapp.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.movieapp.catalog.MovieQuery;
+import com.movieapp.catalog.SortOrder;
+import com.movieapp.dto.MovieDetailDto;
+import com.movieapp.dto.SearchResponseDto;
+import com.movieapp.service.MovieCatalogManager;
+import com.movieapp.service.MovieMetrics;
+import com.movieapp.service.MovieService;
+import com.movieapp.service.OmdbClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Jackson cost of the response bodies, the work a serialized-response cache hit skips: a
+ * search page, the same page gzipped, and a movie detail. Uses a plain {@link ObjectMapper},
+ * which writes these records the same way as the one Spring Boot configures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SearchResponseDto page;
+    private MovieDetailDto detail;
+
+    @Setup
+    public void setup() throws IOException {
+        List<MovieDetailDto> movies = SyntheticCatalog.generate(10_000, 42);
+        MovieService service = new MovieService(new MovieCatalogManager(SyntheticCatalog.source(movies), event -> { }, "heap", false, "", false),
+                OmdbClient.disabled(), MovieMetrics.noop());
+        page = service.searchMovies(new MovieQuery("the", null, null), SortOrder.RELEVANCE, 1, false);
+        detail = movies.get(0);
+    }
+
+    @Benchmark
+    public byte[] searchPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] searchPageGzip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            objectMapper.writeValue(gzip, page);
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] movieDetail() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(detail);
+    }
+}
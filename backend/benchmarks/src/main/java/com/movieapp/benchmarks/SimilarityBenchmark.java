@@ -0,0 +1,71 @@
+package com.movieapp.benchmarks;
+
+import com.movieapp.catalog.MovieCatalog;
+import com.movieapp.catalog.SimilarityIndex;
+import com.movieapp.dto.MovieDetailDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the {@link SimilarityIndex} (one shot per iteration, on a pool of all cores) and
+ * reading one title's neighbors from it, which is all a request does.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class SimilarityBenchmark {
+
+    @Param({"100000", "1000000"})
+    int catalogSize;
+
+    private MovieCatalog catalog;
+    private ForkJoinPool pool;
+    private SimilarityIndex index;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        List<MovieDetailDto> movies = SyntheticCatalog.generate(catalogSize, 42);
+        catalog = MovieCatalog.of(movies);
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        index = SimilarityIndex.build(catalog.store(), 10, pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public SimilarityIndex build() {
+        return SimilarityIndex.build(catalog.store(), 10, pool);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public int neighbors(Blackhole blackhole) {
+        int row = (cursor++ * 0x9E3779B9) & Integer.MAX_VALUE;
+        return index.neighbors(row % catalogSize, neighbor -> blackhole.consume(catalog.summary(neighbor)));
+    }
+}
@@ -0,0 +1,88 @@
+package com.movieapp.benchmarks;
+
+import com.movieapp.catalog.MovieCatalog;
+import com.movieapp.catalog.MovieCatalogSource;
+import com.movieapp.catalog.MovieQuery;
+import com.movieapp.catalog.SortOrder;
+import com.movieapp.dto.MovieDetailDto;
+import com.movieapp.dto.SearchResponseDto;
+import com.movieapp.dto.SuggestionDto;
+import com.movieapp.service.MovieCatalogManager;
+import com.movieapp.service.MovieMetrics;
+import com.movieapp.service.MovieService;
+import com.movieapp.service.OmdbClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-thread throughput of typeahead prefixes (1 to 8 characters of a title word): the
+ * bare trie lookup, the service call that builds the response, and, for comparison, the
+ * ranked search the frontend used to issue per keystroke.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class SuggestBenchmark {
+
+    @Param({"100000", "1000000"})
+    int catalogSize;
+
+    private MovieService service;
+    private MovieCatalog catalog;
+    private String[] prefixes;
+    private int cursor;
+    private int sink;
+
+    @Setup
+    public void setup() throws IOException {
+        List<MovieDetailDto> movies = SyntheticCatalog.generate(catalogSize, 42);
+        MovieCatalogSource source = SyntheticCatalog.source(movies);
+        MovieCatalogManager manager = new MovieCatalogManager(source, event -> { }, "heap", false, "", false);
+        service = new MovieService(manager, OmdbClient.disabled(), MovieMetrics.noop());
+        catalog = manager.current();
+
+        Random random = new Random(7);
+        prefixes = new String[1024];
+        for (int i = 0; i < prefixes.length; i++) {
+            String[] words = movies.get(random.nextInt(catalogSize)).title().split(" ");
+            String word = words[random.nextInt(words.length)];
+            prefixes[i] = word.substring(0, 1 + random.nextInt(Math.min(word.length(), 8)));
+        }
+    }
+
+    private String nextPrefix() {
+        return prefixes[cursor++ & (prefixes.length - 1)];
+    }
+
+    @Benchmark
+    public int trieLookup() {
+        return catalog.suggest(nextPrefix(), 10, row -> sink += row);
+    }
+
+    @Benchmark
+    public List<SuggestionDto> suggest() {
+        return service.suggest(nextPrefix(), 10);
+    }
+
+    @Benchmark
+    public SearchResponseDto searchPerKeystroke() {
+        return service.searchMovies(new MovieQuery(nextPrefix(), null, null), SortOrder.RELEVANCE, 1, false);
+    }
+}
@@ -0,0 +1,146 @@
+package com.movieapp.benchmarks;
+
+import com.movieapp.catalog.MovieCatalogSource;
+import com.movieapp.dto.MovieDetailDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Deterministic generator of OMDb-shaped records for benchmarks. Field distributions loosely
+ * follow a real catalog: skewed vote counts, a small set of genres/ratings/languages, many
+ * distinct titles and plots.
+ */
+public final class SyntheticCatalog {
+
+    private static final String[] WORDS = {
+            "the", "dark", "knight", "return", "king", "lord", "rings", "star", "wars", "matrix",
+            "god", "father", "night", "city", "love", "story", "last", "man", "house", "war",
+            "blood", "river", "shadow", "secret", "life", "time", "world", "dead", "girl", "boy",
+            "game", "thrones", "breaking", "bad", "lost", "stranger", "things", "black", "white", "red",
+            "empire", "strikes", "back", "hope", "fight", "club", "pulp", "fiction", "good", "ugly",
+            "forrest", "gump", "inception", "interstellar", "gladiator", "departed", "prestige", "memento",
+            "alien", "space", "odyssey", "wolf", "wall", "street", "parasite", "spirited", "away", "django"
+    };
+    private static final String[] GENRES = {
+            "Drama", "Comedy", "Action", "Crime", "Thriller", "Adventure", "Romance", "Horror",
+            "Sci-Fi", "Fantasy", "Animation", "Documentary", "Biography", "Mystery", "Family", "War"
+    };
+    private static final String[] RATED = {"G", "PG", "PG-13", "R", "NC-17", "TV-MA", "TV-14", "Not Rated", "N/A"};
+    private static final String[] LANGUAGES = {"English", "French", "Spanish", "German", "Italian", "Japanese", "Korean", "Hindi"};
+    private static final String[] COUNTRIES = {"United States", "United Kingdom", "France", "Germany", "Japan", "South Korea", "India", "Canada"};
+    private static final String[] STUDIOS = {"Warner Bros.", "Paramount Pictures", "Universal Pictures", "20th Century Fox", "Columbia Pictures", "N/A"};
+    private static final String[] FIRST_NAMES = {"James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda", "David", "Elizabeth", "Christopher", "Quentin", "Martin", "Sofia", "Hayao"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Nolan", "Scorsese", "Tarantino", "Coppola", "Miyazaki", "Bong", "Kubrick"};
+    private static final String[] MONTHS = {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+
+    private SyntheticCatalog() {
+    }
+
+    public static List<MovieDetailDto> generate(int size, long seed) {
+        Random random = new Random(seed);
+        List<MovieDetailDto> movies = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            movies.add(movie(random, i));
+        }
+        return movies;
+    }
+
+    /**
+     * A catalog source that replays {@code movies}, for building a {@code MovieCatalogManager}.
+     */
+    public static MovieCatalogSource source(List<MovieDetailDto> movies) {
+        return new MovieCatalogSource() {
+            @Override
+            public String name() {
+                return "synthetic";
+            }
+
+            @Override
+            public void load(Consumer<MovieDetailDto> sink) {
+                movies.forEach(sink);
+            }
+        };
+    }
+
+    static MovieDetailDto movie(Random random, int index) {
+        boolean series = random.nextInt(10) == 0;
+        int year = 1920 + (int) (104 * Math.sqrt(random.nextDouble()));
+        int rating = 10 + random.nextInt(85);
+        // Votos com cauda longa: poucos títulos concentram a maioria
+        long votes = (long) (Math.pow(random.nextDouble(), 6) * 2_800_000) + random.nextInt(50);
+        String released = String.format("%02d %s %d", 1 + random.nextInt(28), MONTHS[random.nextInt(12)], year);
+
+        return new MovieDetailDto(
+                String.format("tt%07d", index),
+                title(random),
+                series ? year + "–" + (year + 1 + random.nextInt(8)) : Integer.toString(year),
+                pick(random, RATED),
+                released,
+                (series ? 30 + random.nextInt(30) : 80 + random.nextInt(100)) + " min",
+                genres(random),
+                person(random),
+                person(random) + ", " + person(random),
+                person(random) + ", " + person(random) + ", " + person(random),
+                sentence(random, 15 + random.nextInt(20)),
+                pick(random, LANGUAGES) + (random.nextInt(3) == 0 ? ", " + pick(random, LANGUAGES) : ""),
+                pick(random, COUNTRIES),
+                random.nextInt(4) == 0 ? "Won " + (1 + random.nextInt(5)) + " Oscars" : "N/A",
+                "https://m.media-amazon.com/images/M/MV5B" + Long.toString(random.nextLong() & Long.MAX_VALUE, 36) + "._V1_SX300.jpg",
+                "Internet Movie Database: " + rating / 10 + "." + rating % 10 + "/10",
+                random.nextInt(5) == 0 ? "N/A" : Integer.toString(20 + random.nextInt(81)),
+                rating / 10 + "." + rating % 10,
+                String.format("%,d", votes),
+                series ? "series" : "movie",
+                random.nextBoolean() ? "N/A" : released,
+                series || random.nextInt(3) == 0 ? "N/A" : String.format("$%,d", (long) random.nextInt(900_000) * 1000),
+                pick(random, STUDIOS),
+                "N/A");
+    }
+
+    private static String title(Random random) {
+        int words = 1 + random.nextInt(4);
+        StringBuilder title = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            String word = pick(random, WORDS);
+            if (i > 0) {
+                title.append(' ');
+            }
+            title.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+        }
+        if (random.nextInt(4) == 0) {
+            title.append(' ').append(2 + random.nextInt(4));
+        }
+        return title.toString();
+    }
+
+    private static String genres(Random random) {
+        int count = 1 + random.nextInt(3);
+        StringBuilder genres = new StringBuilder(pick(random, GENRES));
+        for (int i = 1; i < count; i++) {
+            genres.append(", ").append(pick(random, GENRES));
+        }
+        return genres.toString();
+    }
+
+    private static String person(Random random) {
+        return pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES);
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            sentence.append(pick(random, WORDS));
+        }
+        return sentence.append('.').toString();
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,65 @@
+#!/usr/bin/env bash
+# Compara vazão e p99 entre os modos de execução com 1k, 10k e 50k conexões simultâneas.
+#
+#   mvn -B package -DskipTests            (ou -Pjava21)
+#   JAVA21=/caminho/jdk-21/bin/java ./loadtest/loadtest.sh
+#
+# Modos: platform (pool do Tomcat, endpoints síncronos), async (CompletableFuture em
+# /api/async/movies), virtual e virtual-async (spring.threads.virtual.enabled=true, Java 21).
+# Requer wrk e um limite de descritores acima do maior número de conexões (ulimit -n 65536).
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAR=${JAR:-target/movie-api-0.0.1-SNAPSHOT-exec.jar}
+JAVA=${JAVA:-java}
+JAVA21=${JAVA21:-}
+PORT=${PORT:-8080}
+DURATION=${DURATION:-30s}
+THREADS=${THREADS:-$(nproc)}
+CONNECTIONS=${CONNECTIONS:-"1000 10000 50000"}
+MODES=${MODES:-"platform async virtual virtual-async"}
+OUT=${OUT:-target/loadtest-$(date +%Y%m%d-%H%M%S).csv}
+
+command -v wrk >/dev/null || { echo "wrk não encontrado" >&2; exit 1; }
+[ -f "$JAR" ] || { echo "$JAR não existe; rode mvn package antes" >&2; exit 1; }
+
+SERVER_ARGS=(--server.port="$PORT" --server.tomcat.max-connections=60000
+             --server.tomcat.accept-count=10000 --logging.level.com.movieapp=INFO
+             --rate-limit.enabled=false)
+
+start() {
+  "$1" -jar "$JAR" "${SERVER_ARGS[@]}" "${@:2}" > "target/loadtest-$mode.log" 2>&1 &
+  PID=$!
+  for _ in $(seq 1 120); do
+    curl -sf "localhost:$PORT/actuator/health" >/dev/null && return 0
+    sleep 0.5
+  done
+  echo "aplicação não subiu, veja target/loadtest-$mode.log" >&2
+  kill "$PID"; exit 1
+}
+
+echo "mode,connections,requests_per_sec,p50_ms,p99_ms,max_ms,errors" | tee "$OUT"
+for mode in $MODES; do
+  case $mode in
+    platform)      java=$JAVA;   base=/api/movies/;       extra=() ;;
+    async)         java=$JAVA;   base=/api/async/movies/; extra=() ;;
+    virtual)       java=$JAVA21; base=/api/movies/;       extra=(--spring.threads.virtual.enabled=true) ;;
+    virtual-async) java=$JAVA21; base=/api/async/movies/; extra=(--spring.threads.virtual.enabled=true) ;;
+    *) echo "modo desconhecido: $mode" >&2; exit 1 ;;
+  esac
+  if [ -z "$java" ]; then
+    echo "pulando $mode: defina JAVA21" >&2
+    continue
+  fi
+
+  start "$java" ${extra[@]+"${extra[@]}"}
+  # Aquecimento do JIT e dos caches antes de medir
+  wrk -t"$THREADS" -c100 -d10s -s loadtest/report.lua "http://localhost:$PORT$base" >/dev/null
+  for c in $CONNECTIONS; do
+    result=$(wrk -t"$THREADS" -c"$c" -d"$DURATION" --timeout 10s -s loadtest/report.lua \
+                 "http://localhost:$PORT$base" | grep '^RESULT,')
+    echo "$mode,$c,${result#RESULT,}" | tee -a "$OUT"
+  done
+  kill "$PID"; wait "$PID" 2>/dev/null || true
+done
+echo "resultados em $OUT"
@@ -0,0 +1,19 @@
+-- Alterna entre buscas, listagem e detalhes; no fim imprime uma linha CSV com o resultado
+local paths = {
+   "search?s=the", "search?s=star&sort=rating", "search?s=dark", "search?s=godfather&type=movie",
+   "all?page=1", "all?page=2", "tt0111161", "tt0468569", "tt0133093", "suggest?q=th"
+}
+local counter = 0
+
+request = function()
+   counter = counter + 1
+   return wrk.format("GET", wrk.path .. paths[(counter % #paths) + 1])
+end
+
+done = function(summary, latency, requests)
+   local errors = summary.errors.connect + summary.errors.read + summary.errors.write
+         + summary.errors.status + summary.errors.timeout
+   io.write(string.format("RESULT,%.0f,%.2f,%.2f,%.2f,%d\n",
+         summary.requests / (summary.duration / 1000000),
+         latency:percentile(50) / 1000, latency:percentile(99) / 1000, latency.max / 1000, errors))
+end
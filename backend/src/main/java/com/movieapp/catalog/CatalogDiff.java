@@ -0,0 +1,96 @@
+package com.movieapp.catalog;
+
+import com.movieapp.dto.MovieDetailDto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * What changed between two catalog snapshots, at the granularity the caches need:
+ * which ids were added, removed or modified (with both versions of each record),
+ * from which row on the catalog order differs, and whether untouched records moved
+ * relative to each other.
+ */
+public record CatalogDiff(
+        Set<String> changedIds,
+        List<MovieDetailDto> changedMovies,
+        int firstChangedRow,
+        boolean sizeChanged,
+        boolean reordered
+) {
+
+    public boolean isEmpty() {
+        return firstChangedRow < 0;
+    }
+
+    public static CatalogDiff between(MovieCatalog previous, MovieCatalog current) {
+        List<MovieDetailDto> before = previous.movies();
+        List<MovieDetailDto> after = current.movies();
+
+        int firstChangedRow = -1;
+        int common = Math.min(before.size(), after.size());
+        for (int row = 0; row < common; row++) {
+            if (!Objects.equals(before.get(row), after.get(row))) {
+                firstChangedRow = row;
+                break;
+            }
+        }
+        if (firstChangedRow < 0 && before.size() != after.size()) {
+            firstChangedRow = common;
+        }
+        if (firstChangedRow < 0) {
+            return new CatalogDiff(Set.of(), List.of(), -1, false, false);
+        }
+
+        Map<String, MovieDetailDto> previousById = new HashMap<>(before.size() * 4 / 3 + 1);
+        for (MovieDetailDto movie : before) {
+            previousById.put(movie.imdbId(), movie);
+        }
+
+        Set<String> changedIds = new HashSet<>();
+        List<MovieDetailDto> changedMovies = new ArrayList<>();
+        Set<String> seen = new HashSet<>(after.size() * 4 / 3 + 1);
+        for (MovieDetailDto movie : after) {
+            seen.add(movie.imdbId());
+            MovieDetailDto old = previousById.get(movie.imdbId());
+            if (!movie.equals(old)) {
+                changedIds.add(movie.imdbId());
+                changedMovies.add(movie);
+                if (old != null) {
+                    changedMovies.add(old);
+                }
+            }
+        }
+        for (MovieDetailDto old : before) {
+            if (!seen.contains(old.imdbId())) {
+                changedIds.add(old.imdbId());
+                changedMovies.add(old);
+            }
+        }
+
+        return new CatalogDiff(changedIds, changedMovies, firstChangedRow,
+                before.size() != after.size(), reordered(before, after, changedIds));
+    }
+
+    private static boolean reordered(List<MovieDetailDto> before, List<MovieDetailDto> after, Set<String> changedIds) {
+        int j = 0;
+        for (MovieDetailDto movie : before) {
+            if (changedIds.contains(movie.imdbId())) {
+                continue;
+            }
+            while (j < after.size() && changedIds.contains(after.get(j).imdbId())) {
+                j++;
+            }
+            if (j >= after.size() || !after.get(j).imdbId().equals(movie.imdbId())) {
+                return true;
+            }
+            j++;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,417 @@
+package com.movieapp.catalog;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Versioned binary image of a {@link MovieCatalog}: the compact store columns, the id, title,
+ * title token, year and type indexes, the sort ranks, the typeahead trie, and the off-heap text region.
+ *
+ * <pre>
+ * header  (32 bytes) magic, format version, payload length, CRC32C of the index section, its length
+ * payload index section (source version and fingerprint, columns, dictionaries, indexes)
+ *         text chunks   (count, then length + bytes per chunk)
+ * </pre>
+ *
+ * Opening maps the file: arrays are bulk-copied straight out of the mapping and the text chunks
+ * are served from the mapping itself, so nothing is parsed and the text is never read. Only the
+ * index section, which is read anyway, is checksummed; the text chunks are checked by length. A
+ * wrong magic, format version, length or checksum raises {@link InvalidSnapshotException} and
+ * the caller falls back to a full load.
+ */
+public final class CatalogSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshot.class);
+
+    static final int MAGIC = 0x4D564353; // "MVCS"
+    static final int FORMAT_VERSION = 5;
+    static final int HEADER_SIZE = 32;
+
+    private CatalogSnapshot() {
+    }
+
+    public static class InvalidSnapshotException extends IOException {
+        public InvalidSnapshotException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * A catalog opened from a snapshot, together with the source version it was written from and
+     * the source's {@link MovieCatalogSource#fingerprint} at that time.
+     */
+    public record Opened(MovieCatalog catalog, String sourceVersion, String sourceFingerprint) {
+    }
+
+    public static void write(MovieCatalog catalog, String sourceVersion, String sourceFingerprint, Path target)
+            throws IOException {
+        long start = System.nanoTime();
+        CompactMovieStore store = CompactMovieStore.copyOf(catalog.store());
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        CRC32C crc = new CRC32C();
+        long indexLength;
+        long indexChecksum;
+        long payloadLength;
+        try (OutputStream file = Files.newOutputStream(tmp)) {
+            file.write(new byte[HEADER_SIZE]);
+            CountingOutput counter = new CountingOutput(new CheckedOutputStream(file, crc));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(counter, 1 << 16));
+
+            writeIndexSection(out, catalog, store, sourceVersion, sourceFingerprint);
+            out.flush();
+            indexLength = counter.count;
+            indexChecksum = crc.getValue();
+
+            TextRegion text = store.text();
+            out.writeInt(text.chunkCount());
+            for (int i = 0; i < text.chunkCount(); i++) {
+                ByteBuffer chunk = text.usedChunk(i);
+                out.writeLong(chunk.remaining());
+                byte[] buffer = new byte[1 << 16];
+                while (chunk.hasRemaining()) {
+                    int n = Math.min(buffer.length, chunk.remaining());
+                    chunk.get(buffer, 0, n);
+                    out.write(buffer, 0, n);
+                }
+            }
+            out.flush();
+            payloadLength = counter.count;
+        }
+
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putLong(payloadLength)
+                    .putLong(indexChecksum)
+                    .putLong(indexLength)
+                    .flip();
+            channel.write(header, 0);
+            channel.force(true);
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Catalog snapshot written to {}: {} records, {} MB in {} ms", target, store.size(),
+                (HEADER_SIZE + payloadLength) >> 20, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    public static Opened open(Path path) throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new InvalidSnapshotException("truncated header");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC) {
+                throw new InvalidSnapshotException("not a catalog snapshot");
+            }
+            int version = header.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new InvalidSnapshotException("format version " + version + ", expected " + FORMAT_VERSION);
+            }
+            long payloadLength = header.getLong();
+            long checksum = header.getLong();
+            long indexLength = header.getLong();
+            if (channel.size() != HEADER_SIZE + payloadLength || indexLength < 0 || indexLength > payloadLength
+                    || indexLength > Integer.MAX_VALUE) {
+                throw new InvalidSnapshotException("unexpected file size");
+            }
+
+            MappedByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, indexLength);
+            CRC32C crc = new CRC32C();
+            crc.update(index.duplicate());
+            if (crc.getValue() != checksum) {
+                throw new InvalidSnapshotException("checksum mismatch");
+            }
+            try {
+                return read(path, channel, index, indexLength, start);
+            } catch (RuntimeException e) {
+                // Cabeçalho e índice conferem, mas algum comprimento aponta para fora do arquivo
+                throw new InvalidSnapshotException("corrupt snapshot: " + e);
+            }
+        }
+    }
+
+    private static Opened read(Path path, FileChannel channel, ByteBuffer index, long indexLength, long start)
+            throws IOException {
+        String sourceVersion = readString(index);
+        String sourceFingerprint = readString(index);
+        int size = index.getInt();
+        long[] rowAddresses = readLongs(index);
+        String[][] dictionaries = new String[index.getInt()][];
+        for (int i = 0; i < dictionaries.length; i++) {
+            dictionaries[i] = readStrings(index);
+        }
+        int[][] codes = new int[index.getInt()][];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = readInts(index);
+        }
+        long[][] numbers = new long[index.getInt()][];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = readLongs(index);
+        }
+        int rawColumns = index.getInt();
+        List<Map<Integer, String>> rawNumbers = new ArrayList<>(rawColumns);
+        for (int i = 0; i < rawColumns; i++) {
+            int count = index.getInt();
+            Map<Integer, String> raw = new HashMap<>();
+            for (int j = 0; j < count; j++) {
+                raw.put(index.getInt(), readString(index));
+            }
+            rawNumbers.add(raw);
+        }
+
+        long[] idKeys = readLongs(index);
+        int[] idRows = readInts(index);
+        int fallbackCount = index.getInt();
+        Map<String, Integer> idFallback = new HashMap<>();
+        for (int i = 0; i < fallbackCount; i++) {
+            idFallback.put(readString(index), index.getInt());
+        }
+
+        long[] gramKeys = readLongs(index);
+        Map<Long, int[]> postings = new HashMap<>(gramKeys.length * 4 / 3 + 1);
+        for (long key : gramKeys) {
+            postings.put(key, readInts(index));
+        }
+        String[] titles = readStrings(index);
+        String[] tokens = readStrings(index);
+        int[][] tokenPostings = new int[tokens.length][];
+        for (int i = 0; i < tokens.length; i++) {
+            tokenPostings[i] = readInts(index);
+        }
+        Map<String, int[]> byYear = readPostingMap(index);
+        Map<String, int[]> byType = readPostingMap(index);
+        int[][] ranks = new int[SortOrder.values().length][];
+        for (SortOrder order : SortOrder.values()) {
+            if (order != SortOrder.RELEVANCE) {
+                ranks[order.ordinal()] = readInts(index);
+            }
+        }
+        int[][] suggestArrays = new int[index.getInt()][];
+        for (int i = 0; i < suggestArrays.length; i++) {
+            suggestArrays[i] = readInts(index);
+        }
+
+        // Os blocos de texto continuam mapeados: são lidos direto do arquivo
+        long position = HEADER_SIZE + indexLength;
+        ByteBuffer count = ByteBuffer.allocate(Integer.BYTES);
+        channel.read(count, position);
+        int chunkCount = count.flip().getInt();
+        position += Integer.BYTES;
+        List<ByteBuffer> chunks = new ArrayList<>(chunkCount);
+        for (int i = 0; i < chunkCount; i++) {
+            ByteBuffer length = ByteBuffer.allocate(Long.BYTES);
+            channel.read(length, position);
+            long chunkLength = length.flip().getLong();
+            position += Long.BYTES;
+            if (chunkLength < 0 || chunkLength > channel.size() - position) {
+                throw new InvalidSnapshotException("text chunk past the end of the file");
+            }
+            chunks.add(channel.map(FileChannel.MapMode.READ_ONLY, position, chunkLength));
+            position += chunkLength;
+        }
+
+        if (position != channel.size() || titles.length != size) {
+            throw new InvalidSnapshotException("unexpected layout");
+        }
+
+        CompactMovieStore store = new CompactMovieStore(size, rowAddresses, new TextRegion(chunks),
+                dictionaries, codes, numbers, rawNumbers);
+        // Os títulos normalizados vêm do arquivo: abrir não decodifica o texto de cada linha
+        TitleIndex titleIndex = TitleIndex.restore(titles, postings);
+        MovieCatalog catalog = new MovieCatalog(store,
+                new MovieIdIndex(idKeys, idRows, idFallback.isEmpty() ? Map.of() : idFallback),
+                titleIndex, new FuzzyTitleIndex(tokens, tokenPostings),
+                byYear, byType, new SortIndex(ranks), SuggestIndex.restore(titleIndex.titles(), suggestArrays));
+
+        log.info("Catalog snapshot {} mapped: {} records in {} ms", path, size,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return new Opened(catalog, sourceVersion, sourceFingerprint);
+    }
+
+    private static void writeIndexSection(DataOutputStream out, MovieCatalog catalog,
+                                          CompactMovieStore store, String sourceVersion,
+                                          String sourceFingerprint) throws IOException {
+        writeString(out, sourceVersion);
+        writeString(out, sourceFingerprint);
+        out.writeInt(store.size());
+        writeLongs(out, store.rowAddresses());
+        out.writeInt(store.dictionaries().length);
+        for (String[] dictionary : store.dictionaries()) {
+            writeStrings(out, dictionary);
+        }
+        out.writeInt(store.codes().length);
+        for (int[] column : store.codes()) {
+            writeInts(out, column);
+        }
+        out.writeInt(store.numbers().length);
+        for (long[] column : store.numbers()) {
+            writeLongs(out, column);
+        }
+        out.writeInt(store.rawNumbers().size());
+        for (Map<Integer, String> raw : store.rawNumbers()) {
+            out.writeInt(raw.size());
+            for (Map.Entry<Integer, String> entry : raw.entrySet()) {
+                out.writeInt(entry.getKey());
+                writeString(out, entry.getValue());
+            }
+        }
+
+        MovieIdIndex ids = catalog.idIndex();
+        writeLongs(out, ids.keys());
+        writeInts(out, ids.rows());
+        out.writeInt(ids.fallback().size());
+        for (Map.Entry<String, Integer> entry : ids.fallback().entrySet()) {
+            writeString(out, entry.getKey());
+            out.writeInt(entry.getValue());
+        }
+
+        Map<Long, int[]> postings = catalog.titleIndex().postings();
+        long[] gramKeys = postings.keySet().stream().mapToLong(Long::longValue).toArray();
+        writeLongs(out, gramKeys);
+        for (long key : gramKeys) {
+            writeInts(out, postings.get(key));
+        }
+        writeStrings(out, catalog.titleIndex().titles());
+        FuzzyTitleIndex fuzzy = catalog.fuzzyIndex();
+        writeStrings(out, fuzzy.tokens());
+        for (int[] rows : fuzzy.postings()) {
+            writeInts(out, rows);
+        }
+        writePostingMap(out, catalog.byYear());
+        writePostingMap(out, catalog.byType());
+        int[][] ranks = catalog.sortIndex().ranks();
+        for (SortOrder order : SortOrder.values()) {
+            if (order != SortOrder.RELEVANCE) {
+                writeInts(out, ranks[order.ordinal()]);
+            }
+        }
+        int[][] suggest = catalog.suggestIndex().arrays();
+        out.writeInt(suggest.length);
+        for (int[] column : suggest) {
+            writeInts(out, column);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeStrings(DataOutputStream out, String[] values) throws IOException {
+        out.writeInt(values.length);
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static String[] readStrings(ByteBuffer in) {
+        String[] values = new String[in.getInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readString(in);
+        }
+        return values;
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    private static int[] readInts(ByteBuffer in) {
+        int[] values = new int[in.getInt()];
+        in.asIntBuffer().get(values);
+        in.position(in.position() + values.length * Integer.BYTES);
+        return values;
+    }
+
+    private static void writeLongs(DataOutputStream out, long[] values) throws IOException {
+        out.writeInt(values.length);
+        for (long value : values) {
+            out.writeLong(value);
+        }
+    }
+
+    private static long[] readLongs(ByteBuffer in) {
+        long[] values = new long[in.getInt()];
+        in.asLongBuffer().get(values);
+        in.position(in.position() + values.length * Long.BYTES);
+        return values;
+    }
+
+    private static void writePostingMap(DataOutputStream out, Map<String, int[]> map) throws IOException {
+        out.writeInt(map.size());
+        for (Map.Entry<String, int[]> entry : map.entrySet()) {
+            writeString(out, entry.getKey());
+            writeInts(out, entry.getValue());
+        }
+    }
+
+    private static Map<String, int[]> readPostingMap(ByteBuffer in) {
+        int size = in.getInt();
+        Map<String, int[]> map = new HashMap<>(size * 4 / 3 + 1);
+        for (int i = 0; i < size; i++) {
+            map.put(readString(in), readInts(in));
+        }
+        return map;
+    }
+
+    private static final class CountingOutput extends FilterOutputStream {
+        long count;
+
+        CountingOutput(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
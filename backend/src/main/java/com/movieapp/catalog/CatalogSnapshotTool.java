@@ -0,0 +1,31 @@
+package com.movieapp.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Offline writer for {@link CatalogSnapshot} files:
+ * <pre>
+ * java -cp movie-api-exec.jar -Dloader.main=com.movieapp.catalog.CatalogSnapshotTool \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher movies.jsonl.gz jsonl catalog.snapshot
+ * </pre>
+ */
+public final class CatalogSnapshotTool {
+
+    private CatalogSnapshotTool() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 3) {
+            System.err.println("usage: CatalogSnapshotTool <dump> <jsonl|csv> <snapshot>");
+            System.exit(2);
+        }
+        FileMovieCatalogSource source = new FileMovieCatalogSource(Path.of(args[0]),
+                FileMovieCatalogSource.Format.valueOf(args[1].toUpperCase(Locale.ROOT)), new ObjectMapper());
+        MovieCatalog catalog = MovieCatalog.load(source, MovieStore.Type.COMPACT);
+        String fingerprint = source.fingerprint();
+        CatalogSnapshot.write(catalog, source.version(), fingerprint, Path.of(args[2]));
+    }
+}
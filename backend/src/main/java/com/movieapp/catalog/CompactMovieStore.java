@@ -0,0 +1,425 @@
+package com.movieapp.catalog;
+
+import com.movieapp.dto.MovieDetailDto;
+import com.movieapp.dto.MovieDto;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar store for large catalogs.
+ * <ul>
+ *   <li>numeric fields (runtime, metascore, imdbRating, imdbVotes, boxOffice) live in {@code long[]}
+ *   columns; values that would not format back to the exact original text are kept verbatim;</li>
+ *   <li>low-cardinality fields (year, rated, genre, language, country, type, production, website)
+ *   are dictionary-encoded as {@code int[]} codes;</li>
+ *   <li>free text (id, title, poster, plot, credits, ...) is UTF-8 in an off-heap {@link TextRegion},
+ *   one length-prefixed block per row.</li>
+ * </ul>
+ */
+public final class CompactMovieStore implements MovieStore {
+
+    // Ordem dos campos dentro do bloco de texto de cada linha; os mais lidos primeiro
+    static final int IMDB_ID = 0;
+    static final int TITLE = 1;
+    static final int POSTER = 2;
+    static final int RELEASED = 3;
+    static final int DIRECTOR = 4;
+    static final int WRITER = 5;
+    static final int ACTORS = 6;
+    static final int PLOT = 7;
+    static final int AWARDS = 8;
+    static final int RATINGS = 9;
+    static final int DVD = 10;
+    static final int TEXT_FIELDS = 11;
+
+    static final int YEAR = 0;
+    static final int RATED = 1;
+    static final int GENRE = 2;
+    static final int LANGUAGE = 3;
+    static final int COUNTRY = 4;
+    static final int TYPE = 5;
+    static final int PRODUCTION = 6;
+    static final int WEBSITE = 7;
+    static final int DICTIONARY_FIELDS = 8;
+
+    static final int RUNTIME = 0;
+    static final int METASCORE = 1;
+    static final int IMDB_RATING = 2;
+    static final int IMDB_VOTES = 3;
+    static final int BOX_OFFICE = 4;
+    static final NumericFormat[] NUMERIC_FORMATS = {
+            NumericFormat.MINUTES, NumericFormat.INTEGER, NumericFormat.DECIMAL_1,
+            NumericFormat.GROUPED, NumericFormat.DOLLARS
+    };
+
+    static final long NULL_VALUE = Long.MIN_VALUE + 1;
+    static final long NA_VALUE = Long.MIN_VALUE + 2;
+    static final long RAW_VALUE = NumericFormat.UNPARSEABLE;
+    private static final String NA = "N/A";
+
+    private final int size;
+    private final long[] rowAddresses;
+    private final TextRegion text;
+    private final String[][] dictionaries;
+    private final int[][] codes;
+    private final long[][] numbers;
+    private final List<Map<Integer, String>> rawNumbers;
+
+    CompactMovieStore(int size, long[] rowAddresses, TextRegion text, String[][] dictionaries,
+                      int[][] codes, long[][] numbers, List<Map<Integer, String>> rawNumbers) {
+        this.size = size;
+        this.rowAddresses = rowAddresses;
+        this.text = text;
+        this.dictionaries = dictionaries;
+        this.codes = codes;
+        this.numbers = numbers;
+        this.rawNumbers = rawNumbers;
+    }
+
+    public static Builder builder() {
+        return new Builder(TextRegion.DEFAULT_CHUNK_SIZE);
+    }
+
+    public static CompactMovieStore copyOf(MovieStore store) {
+        if (store instanceof CompactMovieStore compact) {
+            return compact;
+        }
+        Builder builder = builder();
+        for (int row = 0; row < store.size(); row++) {
+            builder.add(store.get(row));
+        }
+        return builder.build();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public MovieDetailDto get(int row) {
+        String[] t = readText(row, TEXT_FIELDS);
+        return new MovieDetailDto(
+                t[IMDB_ID], t[TITLE], dictionary(YEAR, row), dictionary(RATED, row),
+                t[RELEASED], number(RUNTIME, row), dictionary(GENRE, row),
+                t[DIRECTOR], t[WRITER], t[ACTORS], t[PLOT],
+                dictionary(LANGUAGE, row), dictionary(COUNTRY, row), t[AWARDS], t[POSTER], t[RATINGS],
+                number(METASCORE, row), number(IMDB_RATING, row), number(IMDB_VOTES, row),
+                dictionary(TYPE, row), t[DVD], number(BOX_OFFICE, row),
+                dictionary(PRODUCTION, row), dictionary(WEBSITE, row));
+    }
+
+    @Override
+    public MovieDto summary(int row) {
+        String[] t = readText(row, POSTER + 1);
+        return new MovieDto(t[IMDB_ID], t[TITLE], dictionary(YEAR, row), dictionary(TYPE, row), t[POSTER]);
+    }
+
+    @Override
+    public String imdbId(int row) {
+        return readText(row, IMDB_ID + 1)[IMDB_ID];
+    }
+
+    @Override
+    public String title(int row) {
+        return readText(row, TITLE + 1)[TITLE];
+    }
+
+    @Override
+    public String year(int row) {
+        return dictionary(YEAR, row);
+    }
+
+    @Override
+    public String type(int row) {
+        return dictionary(TYPE, row);
+    }
+
+    @Override
+    public String genre(int row) {
+        return dictionary(GENRE, row);
+    }
+
+    @Override
+    public String rated(int row) {
+        return dictionary(RATED, row);
+    }
+
+    @Override
+    public String director(int row) {
+        return readText(row, DIRECTOR + 1)[DIRECTOR];
+    }
+
+    @Override
+    public String writer(int row) {
+        return readText(row, WRITER + 1)[WRITER];
+    }
+
+    @Override
+    public String actors(int row) {
+        return readText(row, ACTORS + 1)[ACTORS];
+    }
+
+    @Override
+    public String imdbRating(int row) {
+        return number(IMDB_RATING, row);
+    }
+
+    @Override
+    public String imdbVotes(int row) {
+        return number(IMDB_VOTES, row);
+    }
+
+    @Override
+    public String boxOffice(int row) {
+        return number(BOX_OFFICE, row);
+    }
+
+    @Override
+    public long heapBytes() {
+        long bytes = HeapFootprint.ofArray(rowAddresses.length, 8);
+        for (String[] dictionary : dictionaries) {
+            bytes += HeapFootprint.ofArray(dictionary.length, 4);
+            for (String value : dictionary) {
+                bytes += HeapFootprint.of(value);
+            }
+        }
+        for (int[] column : codes) {
+            bytes += HeapFootprint.ofArray(column.length, 4);
+        }
+        for (long[] column : numbers) {
+            bytes += HeapFootprint.ofArray(column.length, 8);
+        }
+        for (Map<Integer, String> raw : rawNumbers) {
+            for (String value : raw.values()) {
+                // entrada do HashMap + Integer + String
+                bytes += 32 + 16 + HeapFootprint.of(value);
+            }
+        }
+        return bytes;
+    }
+
+    @Override
+    public long offHeapBytes() {
+        return text.bytes();
+    }
+
+    long[] rowAddresses() {
+        return rowAddresses;
+    }
+
+    TextRegion text() {
+        return text;
+    }
+
+    String[][] dictionaries() {
+        return dictionaries;
+    }
+
+    int[][] codes() {
+        return codes;
+    }
+
+    long[][] numbers() {
+        return numbers;
+    }
+
+    List<Map<Integer, String>> rawNumbers() {
+        return rawNumbers;
+    }
+
+    private String dictionary(int field, int row) {
+        int code = codes[field][row];
+        return code < 0 ? null : dictionaries[field][code];
+    }
+
+    private String number(int field, int row) {
+        long value = numbers[field][row];
+        if (value == NULL_VALUE) {
+            return null;
+        }
+        if (value == NA_VALUE) {
+            return NA;
+        }
+        if (value == RAW_VALUE) {
+            return rawNumbers.get(field).get(row);
+        }
+        return NUMERIC_FORMATS[field].format(value);
+    }
+
+    private String[] readText(int row, int fields) {
+        long address = rowAddresses[row];
+        ByteBuffer chunk = text.chunk(address);
+        int position = TextRegion.offset(address);
+        String[] values = new String[fields];
+        byte[] scratch = null;
+        for (int field = 0; field < fields; field++) {
+            int header = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = chunk.get(position++);
+                header |= (b & 0x7f) << shift;
+                shift += 7;
+            } while (b < 0);
+            if (header == 0) {
+                continue;
+            }
+            int length = header - 1;
+            if (scratch == null || scratch.length < length) {
+                scratch = new byte[Math.max(length, 64)];
+            }
+            chunk.get(position, scratch, 0, length);
+            values[field] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+            position += length;
+        }
+        return values;
+    }
+
+    /**
+     * Accepts records one at a time, so a streaming source never materializes the full list.
+     */
+    public static final class Builder {
+
+        private final TextRegion text;
+        private final List<Map<String, Integer>> dictionaryCodes = new ArrayList<>();
+        private final List<List<String>> dictionaryValues = new ArrayList<>();
+        private final List<Map<Integer, String>> rawNumbers = new ArrayList<>();
+        private long[] rowAddresses = new long[1024];
+        private int[][] codes = new int[DICTIONARY_FIELDS][1024];
+        private long[][] numbers = new long[NUMERIC_FORMATS.length][1024];
+        private byte[] block = new byte[1024];
+        private int size;
+
+        Builder(int chunkSize) {
+            this.text = new TextRegion(chunkSize);
+            for (int i = 0; i < DICTIONARY_FIELDS; i++) {
+                dictionaryCodes.add(new HashMap<>());
+                dictionaryValues.add(new ArrayList<>());
+            }
+            for (int i = 0; i < NUMERIC_FORMATS.length; i++) {
+                rawNumbers.add(new HashMap<>());
+            }
+        }
+
+        public void add(MovieDetailDto movie) {
+            if (size == rowAddresses.length) {
+                grow();
+            }
+            int row = size++;
+
+            String[] t = new String[TEXT_FIELDS];
+            t[IMDB_ID] = movie.imdbId();
+            t[TITLE] = movie.title();
+            t[POSTER] = movie.poster();
+            t[RELEASED] = movie.released();
+            t[DIRECTOR] = movie.director();
+            t[WRITER] = movie.writer();
+            t[ACTORS] = movie.actors();
+            t[PLOT] = movie.plot();
+            t[AWARDS] = movie.awards();
+            t[RATINGS] = movie.ratings();
+            t[DVD] = movie.dvd();
+            rowAddresses[row] = writeText(t);
+
+            encode(YEAR, row, movie.year());
+            encode(RATED, row, movie.rated());
+            encode(GENRE, row, movie.genre());
+            encode(LANGUAGE, row, movie.language());
+            encode(COUNTRY, row, movie.country());
+            encode(TYPE, row, movie.type());
+            encode(PRODUCTION, row, movie.production());
+            encode(WEBSITE, row, movie.website());
+
+            number(RUNTIME, row, movie.runtime());
+            number(METASCORE, row, movie.metascore());
+            number(IMDB_RATING, row, movie.imdbRating());
+            number(IMDB_VOTES, row, movie.imdbVotes());
+            number(BOX_OFFICE, row, movie.boxOffice());
+        }
+
+        public CompactMovieStore build() {
+            String[][] dictionaries = new String[DICTIONARY_FIELDS][];
+            int[][] trimmedCodes = new int[DICTIONARY_FIELDS][];
+            for (int i = 0; i < DICTIONARY_FIELDS; i++) {
+                dictionaries[i] = dictionaryValues.get(i).toArray(new String[0]);
+                trimmedCodes[i] = Arrays.copyOf(codes[i], size);
+            }
+            long[][] trimmedNumbers = new long[NUMERIC_FORMATS.length][];
+            for (int i = 0; i < NUMERIC_FORMATS.length; i++) {
+                trimmedNumbers[i] = Arrays.copyOf(numbers[i], size);
+            }
+            return new CompactMovieStore(size, Arrays.copyOf(rowAddresses, size), text,
+                    dictionaries, trimmedCodes, trimmedNumbers, rawNumbers);
+        }
+
+        private void grow() {
+            int capacity = rowAddresses.length << 1;
+            rowAddresses = Arrays.copyOf(rowAddresses, capacity);
+            for (int i = 0; i < codes.length; i++) {
+                codes[i] = Arrays.copyOf(codes[i], capacity);
+            }
+            for (int i = 0; i < numbers.length; i++) {
+                numbers[i] = Arrays.copyOf(numbers[i], capacity);
+            }
+        }
+
+        private void encode(int field, int row, String value) {
+            if (value == null) {
+                codes[field][row] = -1;
+                return;
+            }
+            List<String> values = dictionaryValues.get(field);
+            codes[field][row] = dictionaryCodes.get(field).computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+
+        private void number(int field, int row, String value) {
+            long encoded;
+            if (value == null) {
+                encoded = NULL_VALUE;
+            } else if (NA.equals(value)) {
+                encoded = NA_VALUE;
+            } else {
+                encoded = NUMERIC_FORMATS[field].parse(value);
+                if (encoded == RAW_VALUE) {
+                    rawNumbers.get(field).put(row, value);
+                }
+            }
+            numbers[field][row] = encoded;
+        }
+
+        private long writeText(String[] values) {
+            int length = 0;
+            for (String value : values) {
+                byte[] bytes = value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+                int header = bytes == null ? 0 : bytes.length + 1;
+                ensure(length + 5 + (bytes == null ? 0 : bytes.length));
+                do {
+                    int b = header & 0x7f;
+                    header >>>= 7;
+                    block[length++] = (byte) (header != 0 ? b | 0x80 : b);
+                } while (header != 0);
+                if (bytes != null) {
+                    System.arraycopy(bytes, 0, block, length, bytes.length);
+                    length += bytes.length;
+                }
+            }
+            return text.append(block, length);
+        }
+
+        private void ensure(int capacity) {
+            if (block.length < capacity) {
+                block = Arrays.copyOf(block, Math.max(capacity, block.length << 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.movieapp.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * One {@link RowBitmap} per facet value, built at load time: type, decade of the year, each
+ * genre of the comma-separated list and rated ("N/A" and blanks are left out). Counting a facet
+ * over a set of matches is one intersection size per value; over the whole catalog the counts
+ * are the bitmaps' own cardinalities.
+ */
+final class FacetIndex {
+
+    enum Facet {
+        TYPE("type"), DECADE("decade"), GENRE("genre"), RATED("rated");
+
+        private final String param;
+
+        Facet(String param) {
+            this.param = param;
+        }
+    }
+
+    private record Value(String name, RowBitmap rows) {
+    }
+
+    private final Value[][] values;
+    private final Map<String, Map<String, Integer>> totals;
+
+    private FacetIndex(Value[][] values) {
+        this.values = values;
+        this.totals = counts(facet -> {
+            int[] counts = new int[facet.length];
+            for (int i = 0; i < facet.length; i++) {
+                counts[i] = facet[i].rows.cardinality();
+            }
+            return counts;
+        });
+    }
+
+    static FacetIndex build(MovieStore store) {
+        List<Map<String, RowBitmap.Builder>> builders = new ArrayList<>();
+        for (int i = 0; i < Facet.values().length; i++) {
+            builders.add(new HashMap<>());
+        }
+        for (int row = 0; row < store.size(); row++) {
+            String type = store.type(row);
+            add(builders, Facet.TYPE, type == null ? null : type.toLowerCase(Locale.ROOT), row);
+            add(builders, Facet.DECADE, decade(store.year(row)), row);
+            int r = row;
+            forEachGenre(store.genre(row), genre -> add(builders, Facet.GENRE, genre, r));
+            add(builders, Facet.RATED, store.rated(row), row);
+        }
+
+        Value[][] values = new Value[builders.size()][];
+        for (int f = 0; f < values.length; f++) {
+            values[f] = builders.get(f).entrySet().stream()
+                    .map(e -> new Value(e.getKey(), e.getValue().build()))
+                    .sorted(Comparator.comparingInt((Value v) -> -v.rows.cardinality()).thenComparing(Value::name))
+                    .toArray(Value[]::new);
+        }
+        return new FacetIndex(values);
+    }
+
+    /** Counts of every facet value in the whole catalog, most frequent first. Shared, read-only. */
+    Map<String, Map<String, Integer>> counts() {
+        return totals;
+    }
+
+    /** Counts of every facet value among {@code rows}, most frequent first; zeros are left out. */
+    Map<String, Map<String, Integer>> counts(RowBitmap rows) {
+        // Cada valor cruza com as mesmas linhas: vale pagar a conversão uma vez
+        RowBitmap dense = rows.dense();
+        return counts(facet -> {
+            int[] counts = new int[facet.length];
+            for (int i = 0; i < facet.length; i++) {
+                counts[i] = facet[i].rows.andCardinality(dense);
+            }
+            return counts;
+        });
+    }
+
+    private Map<String, Map<String, Integer>> counts(Function<Value[], int[]> counter) {
+        Map<String, Map<String, Integer>> result = new LinkedHashMap<>();
+        for (Facet facet : Facet.values()) {
+            Value[] facetValues = values[facet.ordinal()];
+            int[] counts = counter.apply(facetValues);
+            Integer[] order = new Integer[facetValues.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            // Estável: empates mantêm a ordem do catálogo inteiro
+            Arrays.sort(order, Comparator.comparingInt(i -> -counts[i]));
+            Map<String, Integer> byValue = new LinkedHashMap<>();
+            for (int i : order) {
+                if (counts[i] > 0) {
+                    byValue.put(facetValues[i].name, counts[i]);
+                }
+            }
+            result.put(facet.param, byValue);
+        }
+        return result;
+    }
+
+    private static void add(List<Map<String, RowBitmap.Builder>> builders, Facet facet, String value, int row) {
+        if (value != null && !value.isEmpty() && !value.equals("N/A")) {
+            builders.get(facet.ordinal()).computeIfAbsent(value, k -> RowBitmap.builder()).add(row);
+        }
+    }
+
+    /** "1994" and "2008–2013" fall in "1990s" and "2000s"; years not starting with four digits are skipped. */
+    static String decade(String year) {
+        if (year == null || year.length() < 4) {
+            return null;
+        }
+        for (int i = 0; i < 4; i++) {
+            if (!Character.isDigit(year.charAt(i))) {
+                return null;
+            }
+        }
+        return year.substring(0, 3) + "0s";
+    }
+
+    static void forEachGenre(String genres, Consumer<String> consumer) {
+        if (genres == null) {
+            return;
+        }
+        int from = 0;
+        while (from <= genres.length()) {
+            int comma = genres.indexOf(',', from);
+            int to = comma < 0 ? genres.length() : comma;
+            consumer.accept(genres.substring(from, to).strip());
+            from = to + 1;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.movieapp.catalog;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.movieapp.dto.MovieDetailDto;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Streams a JSON-lines or CSV dump (optionally gzipped) into {@link MovieDetailDto} records.
+ * Field names follow the OMDb wire format used by the DTOs ({@code imdbID}, {@code Title}, ...);
+ * for CSV the first line is the header.
+ */
+public class FileMovieCatalogSource implements MovieCatalogSource {
+
+    public enum Format { JSONL, CSV }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path path;
+    private final Format format;
+    private final ObjectReader jsonReader;
+    // Hash do conteúdo e o mtime:tamanho de quando foi calculado: só relê o arquivo se um deles mudar
+    private volatile Digest digest;
+
+    private record Digest(String fingerprint, String hash) {
+    }
+
+    public FileMovieCatalogSource(Path path, Format format, ObjectMapper objectMapper) {
+        this.path = path;
+        this.format = format;
+        this.jsonReader = objectMapper.readerFor(MovieDetailDto.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    @Override
+    public String name() {
+        return path.toString();
+    }
+
+    /**
+     * SHA-256 of the file's bytes, so a copy with a new modification time keeps its snapshot and
+     * a different file with the same time and size does not. The file is only read again when
+     * its {@link #fingerprint} changes.
+     */
+    @Override
+    public String version() throws IOException {
+        String fingerprint = fingerprint();
+        Digest cached = digest;
+        if (cached == null || !cached.fingerprint().equals(fingerprint)) {
+            cached = new Digest(fingerprint, hash());
+            digest = cached;
+        }
+        return cached.hash();
+    }
+
+    /** Modification time and size of the file. */
+    @Override
+    public String fingerprint() throws IOException {
+        FileTime modified = Files.getLastModifiedTime(path);
+        return modified.toMillis() + ":" + Files.size(path);
+    }
+
+    @Override
+    public void assumeVersion(String fingerprint, String version) {
+        if (digest == null) {
+            digest = new Digest(fingerprint, version);
+        }
+    }
+
+    @Override
+    public void load(Consumer<MovieDetailDto> sink) throws IOException {
+        try (InputStream in = open()) {
+            if (format == Format.CSV) {
+                loadCsv(in, sink);
+            } else {
+                loadJsonLines(in, sink);
+            }
+        }
+    }
+
+    private String hash() throws IOException {
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(path)) {
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                sha256.update(buffer, 0, read);
+            }
+        }
+        return "sha256:" + HexFormat.of().formatHex(sha256.digest());
+    }
+
+    private InputStream open() throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE);
+        return path.getFileName().toString().endsWith(".gz") ? new GZIPInputStream(in, BUFFER_SIZE) : in;
+    }
+
+    private void loadJsonLines(InputStream in, Consumer<MovieDetailDto> sink) throws IOException {
+        try (JsonParser parser = jsonReader.getFactory().createParser(in)) {
+            // Cada linha é um valor raiz; o parser avança objeto a objeto
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                sink.accept(jsonReader.readValue(parser));
+            }
+        }
+    }
+
+    private void loadCsv(InputStream in, Consumer<MovieDetailDto> sink) throws IOException {
+        CsvMapper csvMapper = new CsvMapper();
+        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+        try (MappingIterator<MovieDetailDto> rows = csvMapper.readerFor(MovieDetailDto.class)
+                .with(schema)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readValues(in)) {
+            while (rows.hasNext()) {
+                sink.accept(rows.next());
+            }
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.movieapp.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typo-tolerant title lookup. The distinct tokens of every normalized title sit in a trie
+ * (flat arrays, children in sorted order) that is walked once per query term carrying a row
+ * of the Levenshtein matrix: a branch is pruned as soon as every cell of its row exceeds the
+ * allowed distance, so only a thin slice of the vocabulary is visited. Each accepted token
+ * contributes its posting list, and a title matches when every query term matches one of
+ * its tokens.
+ */
+public final class FuzzyTitleIndex {
+
+    public static final int MAX_EDITS = 2;
+    /** Tokens accepted per query term, closest first, as a bound on the union. */
+    static final int MAX_EXPANSIONS = 50;
+    /** Longer terms are matched exactly: the edit-distance rows grow with the term's length squared. */
+    static final int MAX_FUZZY_TERM_LENGTH = 32;
+
+    private final String[] tokens;
+    private final int[][] postings;
+
+    private final char[] label;
+    private final int[] firstChild;
+    private final int[] nextSibling;
+    private final int[] tokenAt;
+
+    FuzzyTitleIndex(String[] tokens, int[][] postings) {
+        this.tokens = tokens;
+        this.postings = postings;
+
+        int capacity = 1;
+        for (String token : tokens) {
+            capacity += token.length();
+        }
+        char[] label = new char[capacity];
+        int[] firstChild = new int[capacity];
+        int[] nextSibling = new int[capacity];
+        int[] lastChild = new int[capacity];
+        int[] tokenAt = new int[capacity];
+        Arrays.fill(firstChild, -1);
+        Arrays.fill(nextSibling, -1);
+        Arrays.fill(lastChild, -1);
+        Arrays.fill(tokenAt, -1);
+
+        // Tokens ordenados: cada um só compartilha prefixo com o caminho do anterior
+        int nodes = 1;
+        int[] path = new int[64];
+        String previous = "";
+        for (int id = 0; id < tokens.length; id++) {
+            String token = tokens[id];
+            if (path.length < token.length() + 1) {
+                path = Arrays.copyOf(path, token.length() + 1);
+            }
+            int common = 0;
+            while (common < previous.length() && common < token.length()
+                    && previous.charAt(common) == token.charAt(common)) {
+                common++;
+            }
+            for (int depth = common; depth < token.length(); depth++) {
+                int parent = path[depth];
+                int node = nodes++;
+                label[node] = token.charAt(depth);
+                if (lastChild[parent] < 0) {
+                    firstChild[parent] = node;
+                } else {
+                    nextSibling[lastChild[parent]] = node;
+                }
+                lastChild[parent] = node;
+                path[depth + 1] = node;
+            }
+            tokenAt[path[token.length()]] = id;
+            previous = token;
+        }
+
+        this.label = Arrays.copyOf(label, nodes);
+        this.firstChild = Arrays.copyOf(firstChild, nodes);
+        this.nextSibling = Arrays.copyOf(nextSibling, nodes);
+        this.tokenAt = Arrays.copyOf(tokenAt, nodes);
+    }
+
+    public static FuzzyTitleIndex build(List<String> rawTitles) {
+        Map<String, IntArrayBuilder> builders = new HashMap<>();
+        for (int row = 0; row < rawTitles.size(); row++) {
+            String raw = rawTitles.get(row);
+            if (raw == null) {
+                continue;
+            }
+            for (String token : tokens(TitleIndex.normalize(raw))) {
+                builders.computeIfAbsent(token, k -> new IntArrayBuilder()).addDistinct(row);
+            }
+        }
+        String[] tokens = builders.keySet().toArray(new String[0]);
+        Arrays.sort(tokens);
+        int[][] postings = new int[tokens.length][];
+        for (int i = 0; i < tokens.length; i++) {
+            postings[i] = builders.get(tokens[i]).toArray();
+        }
+        return new FuzzyTitleIndex(tokens, postings);
+    }
+
+    String[] tokens() {
+        return tokens;
+    }
+
+    int[][] postings() {
+        return postings;
+    }
+
+    /** Splits a normalized title on anything that is not a letter or digit. */
+    public static List<String> tokens(String normalized) {
+        List<String> tokens = new ArrayList<>(4);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean word = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Edits allowed for a term of {@code length} characters: none below 3, at most one below 6,
+     * so short words do not match half the vocabulary, and none above
+     * {@link #MAX_FUZZY_TERM_LENGTH}, so an oversized term costs no more than an exact lookup.
+     */
+    static int allowedEdits(int length, int requested) {
+        if (length > MAX_FUZZY_TERM_LENGTH) {
+            return 0;
+        }
+        return Math.min(requested, length < 3 ? 0 : length < 6 ? 1 : 2);
+    }
+
+    /**
+     * Rows whose title has, for every term of {@code query} (already normalized), a token within
+     * the allowed edit distance; {@code null} when the query has no terms.
+     */
+    public RowIterator search(String query, int maxEdits) {
+        List<String> terms = tokens(query);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        List<RowIterator> perTerm = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            int edits = allowedEdits(term.length(), maxEdits);
+            int[] matched = edits > 0 ? expand(term, edits) : exact(term);
+            if (matched.length == 0) {
+                return RowIterator.empty();
+            }
+            List<RowIterator> rows = new ArrayList<>(matched.length);
+            for (int token : matched) {
+                rows.add(RowIterator.of(postings[token]));
+            }
+            perTerm.add(RowIterator.or(rows));
+        }
+        return RowIterator.and(perTerm);
+    }
+
+    private int[] exact(String term) {
+        int token = Arrays.binarySearch(tokens, term);
+        return token >= 0 ? new int[] {token} : new int[0];
+    }
+
+    /** Token ids within {@code maxEdits} of {@code term}, closest (then most frequent) first. */
+    int[] expand(String term, int maxEdits) {
+        int[][] rows = new int[term.length() + maxEdits + 2][term.length() + 1];
+        for (int i = 0; i <= term.length(); i++) {
+            rows[0][i] = i;
+        }
+        IntArrayBuilder found = new IntArrayBuilder();
+        IntArrayBuilder distances = new IntArrayBuilder();
+        walk(0, 0, term, maxEdits, rows, found, distances);
+
+        int[] ids = found.toArray();
+        int[] dist = distances.toArray();
+        Integer[] order = new Integer[ids.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> dist[a] != dist[b]
+                ? Integer.compare(dist[a], dist[b])
+                : Integer.compare(postings[ids[b]].length, postings[ids[a]].length));
+        int[] expanded = new int[Math.min(order.length, MAX_EXPANSIONS)];
+        for (int i = 0; i < expanded.length; i++) {
+            expanded[i] = ids[order[i]];
+        }
+        return expanded;
+    }
+
+    private void walk(int node, int depth, String term, int maxEdits, int[][] rows,
+                      IntArrayBuilder found, IntArrayBuilder distances) {
+        int[] previous = rows[depth];
+        int[] current = rows[depth + 1];
+        for (int child = firstChild[node]; child >= 0; child = nextSibling[child]) {
+            char c = label[child];
+            current[0] = depth + 1;
+            int best = current[0];
+            for (int i = 1; i <= term.length(); i++) {
+                int substitution = previous[i - 1] + (term.charAt(i - 1) == c ? 0 : 1);
+                current[i] = Math.min(substitution, Math.min(previous[i], current[i - 1]) + 1);
+                best = Math.min(best, current[i]);
+            }
+            int distance = current[term.length()];
+            if (tokenAt[child] >= 0 && distance <= maxEdits) {
+                found.add(tokenAt[child]);
+                distances.add(distance);
+            }
+            if (best <= maxEdits) {
+                walk(child, depth + 1, term, maxEdits, rows, found, distances);
+            }
+        }
+    }
+
+    /**
+     * Reference predicate for a single title, without the expansion bound of {@link #search}.
+     */
+    public static boolean matches(String normalizedTitle, String normalizedQuery, int maxEdits) {
+        List<String> terms = tokens(normalizedQuery);
+        if (terms.isEmpty()) {
+            return false;
+        }
+        List<String> words = tokens(normalizedTitle);
+        for (String term : terms) {
+            int edits = allowedEdits(term.length(), maxEdits);
+            if (words.stream().noneMatch(word -> distance(term, word, edits) <= edits)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static int distance(String a, String b, int limit) {
+        if (limit == 0) {
+            return a.equals(b) ? 0 : 1;
+        }
+        if (Math.abs(a.length() - b.length()) > limit) {
+            return limit + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
@@ -0,0 +1,86 @@
+package com.movieapp.catalog;
+
+import com.movieapp.dto.MovieDetailDto;
+import com.movieapp.dto.MovieDto;
+import com.movieapp.dto.SearchResponseDto;
+
+import java.lang.reflect.RecordComponent;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shallow+deep heap size estimates for a 64-bit JVM with compressed oops and compact strings
+ * (12-byte object headers, 4-byte references, 8-byte alignment). Every reference is counted as
+ * unshared, so the result is an upper bound; good enough to compare storage layouts.
+ */
+public final class HeapFootprint {
+
+    private static final int HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final RecordComponent[] FIELDS = MovieDetailDto.class.getRecordComponents();
+
+    private HeapFootprint() {
+    }
+
+    public static long of(List<MovieDetailDto> movies) {
+        long bytes = align(ARRAY_HEADER + (long) REFERENCE * movies.size());
+        for (MovieDetailDto movie : movies) {
+            bytes += of(movie);
+        }
+        return bytes;
+    }
+
+    public static long of(MovieDetailDto movie) {
+        long bytes = align(HEADER + (long) REFERENCE * FIELDS.length);
+        for (RecordComponent field : FIELDS) {
+            try {
+                bytes += of((String) field.getAccessor().invoke(movie));
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return bytes;
+    }
+
+    public static long of(SearchResponseDto response) {
+        long bytes = align(HEADER + 4L * REFERENCE)
+                + of(response.totalResults()) + of(response.response()) + of(response.next());
+        if (response.search() != null) {
+            bytes += align(ARRAY_HEADER + (long) REFERENCE * response.search().size());
+            for (MovieDto movie : response.search()) {
+                bytes += align(HEADER + 5L * REFERENCE) + of(movie.imdbId()) + of(movie.title())
+                        + of(movie.year()) + of(movie.type()) + of(movie.poster());
+            }
+        }
+        if (response.facets() != null) {
+            // Nomes dos valores são compartilhados com o índice; contam só as entradas e os Integer
+            for (Map<String, Integer> counts : response.facets().values()) {
+                bytes += align(HEADER + 7L * REFERENCE) + ofArray(counts.size() * 2, REFERENCE)
+                        + counts.size() * (align(HEADER + 4L * REFERENCE + 4) + align(HEADER + 4));
+            }
+        }
+        return bytes;
+    }
+
+    public static long of(String value) {
+        if (value == null) {
+            return 0;
+        }
+        boolean latin1 = true;
+        for (int i = 0; i < value.length() && latin1; i++) {
+            latin1 = value.charAt(i) < 256;
+        }
+        long content = latin1 ? value.length() : 2L * value.length();
+        // String (hash, coder, value) + byte[]
+        return align(HEADER + 4 + 1 + REFERENCE) + align(ARRAY_HEADER + content);
+    }
+
+    public static long ofArray(int length, int elementBytes) {
+        return align(ARRAY_HEADER + (long) length * elementBytes);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
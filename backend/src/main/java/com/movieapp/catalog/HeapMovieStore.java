@@ -0,0 +1,109 @@
+package com.movieapp.catalog;
+
+import com.movieapp.dto.MovieDetailDto;
+import com.movieapp.dto.MovieDto;
+
+import java.util.List;
+
+/**
+ * Plain list of records; the default store.
+ */
+public final class HeapMovieStore implements MovieStore {
+
+    private final List<MovieDetailDto> movies;
+
+    public HeapMovieStore(List<MovieDetailDto> movies) {
+        this.movies = List.copyOf(movies);
+    }
+
+    @Override
+    public int size() {
+        return movies.size();
+    }
+
+    @Override
+    public MovieDetailDto get(int row) {
+        return movies.get(row);
+    }
+
+    @Override
+    public MovieDto summary(int row) {
+        MovieDetailDto movie = movies.get(row);
+        return new MovieDto(movie.imdbId(), movie.title(), movie.year(), movie.type(), movie.poster());
+    }
+
+    @Override
+    public String imdbId(int row) {
+        return movies.get(row).imdbId();
+    }
+
+    @Override
+    public String title(int row) {
+        return movies.get(row).title();
+    }
+
+    @Override
+    public String year(int row) {
+        return movies.get(row).year();
+    }
+
+    @Override
+    public String type(int row) {
+        return movies.get(row).type();
+    }
+
+    @Override
+    public String genre(int row) {
+        return movies.get(row).genre();
+    }
+
+    @Override
+    public String rated(int row) {
+        return movies.get(row).rated();
+    }
+
+    @Override
+    public String director(int row) {
+        return movies.get(row).director();
+    }
+
+    @Override
+    public String writer(int row) {
+        return movies.get(row).writer();
+    }
+
+    @Override
+    public String actors(int row) {
+        return movies.get(row).actors();
+    }
+
+    @Override
+    public String imdbRating(int row) {
+        return movies.get(row).imdbRating();
+    }
+
+    @Override
+    public String imdbVotes(int row) {
+        return movies.get(row).imdbVotes();
+    }
+
+    @Override
+    public String boxOffice(int row) {
+        return movies.get(row).boxOffice();
+    }
+
+    @Override
+    public long heapBytes() {
+        return HeapFootprint.of(movies);
+    }
+
+    @Override
+    public long offHeapBytes() {
+        return 0;
+    }
+
+    @Override
+    public List<MovieDetailDto> asList() {
+        return movies;
+    }
+}
@@ -0,0 +1,39 @@
+package com.movieapp.catalog;
+
+import java.util.Arrays;
+
+final class IntArrayBuilder {
+
+    private int[] values;
+    private int size;
+
+    IntArrayBuilder() {
+        this(4);
+    }
+
+    IntArrayBuilder(int capacity) {
+        this.values = new int[Math.max(capacity, 1)];
+    }
+
+    void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size << 1);
+        }
+        values[size++] = value;
+    }
+
+    /** Appends a row id unless it is already the last one (rows arrive in ascending order). */
+    void addDistinct(int value) {
+        if (size == 0 || values[size - 1] != value) {
+            add(value);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
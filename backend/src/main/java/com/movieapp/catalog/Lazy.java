@@ -0,0 +1,43 @@
+package com.movieapp.catalog;
+
+import java.util.function.Supplier;
+
+/**
+ * A value computed on first use, at most once, and shared by every thread afterwards; for
+ * indexes that are cheap to keep but not worth building before anyone asks for them.
+ */
+final class Lazy<T> implements Supplier<T> {
+
+    private Supplier<T> supplier;
+    private volatile T value;
+
+    private Lazy(Supplier<T> supplier, T value) {
+        this.supplier = supplier;
+        this.value = value;
+    }
+
+    static <T> Lazy<T> of(Supplier<T> supplier) {
+        return new Lazy<>(supplier, null);
+    }
+
+    static <T> Lazy<T> ready(T value) {
+        return new Lazy<>(null, value);
+    }
+
+    @Override
+    public T get() {
+        T result = value;
+        if (result == null) {
+            synchronized (this) {
+                result = value;
+                if (result == null) {
+                    result = supplier.get();
+                    value = result;
+                    // Libera o que o supplier capturou
+                    supplier = null;
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,350 @@
+package com.movieapp.catalog;
+
+import com.movieapp.dto.MovieDetailDto;
+import com.movieapp.dto.MovieDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Read-only catalog plus the indexes built over it at load time. Row ids are positions
+ * in the original list, and every posting list is ascending, so results keep catalog order.
+ * Arrays returned by the indexes are shared and must not be modified by callers.
+ */
+public final class MovieCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieCatalog.class);
+    private static final AtomicLong GENERATIONS = new AtomicLong();
+
+    private final long generation = GENERATIONS.incrementAndGet();
+
+    private final MovieStore store;
+    private final MovieIdIndex idIndex;
+    private final TitleIndex titleIndex;
+    private final FuzzyTitleIndex fuzzyIndex;
+    private final Map<String, int[]> byYear;
+    private final Map<String, int[]> byType;
+    private final SortIndex sortIndex;
+    private final SuggestIndex suggestIndex;
+    private final Lazy<FacetIndex> facetIndex;
+    private final Lazy<YearIndex> yearIndex;
+    private final Lazy<PersonIndex> personIndex;
+
+    private MovieCatalog(MovieStore store) {
+        this.store = store;
+        this.idIndex = MovieIdIndex.build(column(store::imdbId));
+        this.titleIndex = TitleIndex.build(column(store::title));
+        this.fuzzyIndex = FuzzyTitleIndex.build(column(store::title));
+        this.byYear = index(store::year, false);
+        this.byType = index(store::type, true);
+        this.sortIndex = SortIndex.build(store);
+        this.suggestIndex = SuggestIndex.build(titleIndex.titles(), sortIndex.rank(SortOrder.VOTES));
+        this.facetIndex = Lazy.ready(FacetIndex.build(store));
+        this.yearIndex = Lazy.ready(YearIndex.build(store));
+        this.personIndex = Lazy.ready(PersonIndex.build(store));
+    }
+
+    MovieCatalog(MovieStore store, MovieIdIndex idIndex, TitleIndex titleIndex, FuzzyTitleIndex fuzzyIndex,
+                 Map<String, int[]> byYear, Map<String, int[]> byType, SortIndex sortIndex,
+                 SuggestIndex suggestIndex) {
+        this.store = store;
+        this.idIndex = idIndex;
+        this.titleIndex = titleIndex;
+        this.fuzzyIndex = fuzzyIndex;
+        this.byYear = byYear;
+        this.byType = byType;
+        this.sortIndex = sortIndex;
+        this.suggestIndex = suggestIndex;
+        // Os bitmaps e as pessoas não vão no snapshot: são montados a partir das colunas do store
+        // no primeiro uso, e abrir o snapshot continua sem percorrer o catálogo
+        this.facetIndex = Lazy.of(() -> FacetIndex.build(store));
+        this.yearIndex = Lazy.of(() -> YearIndex.build(store));
+        this.personIndex = Lazy.of(() -> PersonIndex.build(store));
+    }
+
+    public static MovieCatalog of(List<MovieDetailDto> movies) {
+        return new MovieCatalog(new HeapMovieStore(movies));
+    }
+
+    public static MovieCatalog of(MovieStore store) {
+        return new MovieCatalog(store);
+    }
+
+    public static MovieCatalog load(MovieCatalogSource source) throws IOException {
+        return load(source, MovieStore.Type.HEAP);
+    }
+
+    public static MovieCatalog load(MovieCatalogSource source, MovieStore.Type storeType) throws IOException {
+        long start = System.nanoTime();
+        MovieStore store;
+        if (storeType == MovieStore.Type.COMPACT) {
+            CompactMovieStore.Builder builder = CompactMovieStore.builder();
+            source.load(builder::add);
+            store = builder.build();
+        } else {
+            List<MovieDetailDto> movies = new ArrayList<>();
+            source.load(movies::add);
+            store = new HeapMovieStore(movies);
+        }
+        long loaded = System.nanoTime();
+
+        MovieCatalog catalog = new MovieCatalog(store);
+        long indexed = System.nanoTime();
+
+        double loadSeconds = Math.max(loaded - start, 1) / 1e9;
+        log.info("Catalog '{}' loaded: {} records in {} ms ({} records/s), indexed in {} ms",
+                source.name(), store.size(),
+                TimeUnit.NANOSECONDS.toMillis(loaded - start),
+                Math.round(store.size() / loadSeconds),
+                TimeUnit.NANOSECONDS.toMillis(indexed - loaded));
+        // A comparação com List<MovieDetailDto> fica no FootprintReport: medi-la aqui recriaria essa lista
+        if (storeType == MovieStore.Type.COMPACT && log.isDebugEnabled()) {
+            log.debug("Compact store: ~{} KB heap + {} KB off-heap",
+                    store.heapBytes() / 1024, store.offHeapBytes() / 1024);
+        }
+        return catalog;
+    }
+
+    /** Distinguishes snapshots of the same process, e.g. to tell whether a row id is still valid. */
+    public long generation() {
+        return generation;
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    public MovieDetailDto get(int row) {
+        return store.get(row);
+    }
+
+    public MovieDto summary(int row) {
+        return store.summary(row);
+    }
+
+    public MovieStore store() {
+        return store;
+    }
+
+    MovieIdIndex idIndex() {
+        return idIndex;
+    }
+
+    TitleIndex titleIndex() {
+        return titleIndex;
+    }
+
+    FuzzyTitleIndex fuzzyIndex() {
+        return fuzzyIndex;
+    }
+
+    Map<String, int[]> byYear() {
+        return byYear;
+    }
+
+    Map<String, int[]> byType() {
+        return byType;
+    }
+
+    SortIndex sortIndex() {
+        return sortIndex;
+    }
+
+    SuggestIndex suggestIndex() {
+        return suggestIndex;
+    }
+
+    public List<MovieDetailDto> movies() {
+        return store.asList();
+    }
+
+    /** Row of {@code imdbId}, or {@code -1}. */
+    public int rowOf(String imdbId) {
+        return idIndex.rowOf(imdbId);
+    }
+
+    public Optional<MovieDetailDto> findById(String imdbId) {
+        int row = idIndex.rowOf(imdbId);
+        return row >= 0 ? Optional.of(store.get(row)) : Optional.empty();
+    }
+
+    /**
+     * Rows matching {@link MovieQuery#matches}: case-insensitive substring on title (or words
+     * within the fuzzy edit distance), exact year and case-insensitive type.
+     */
+    public int[] search(MovieQuery query) {
+        return RowIterator.drain(matches(query));
+    }
+
+    /**
+     * Lazily intersects the postings of every filter in {@code query}, in ascending row order.
+     */
+    public RowIterator matches(MovieQuery query) {
+        List<RowIterator> filters = new ArrayList<>(3);
+
+        if (query.year() != null) {
+            int[] rows = byYear.get(query.year());
+            if (rows == null) {
+                return RowIterator.empty();
+            }
+            filters.add(RowIterator.of(rows));
+        }
+        if (query.type() != null) {
+            int[] rows = byType.get(query.type().toLowerCase(Locale.ROOT));
+            if (rows == null) {
+                return RowIterator.empty();
+            }
+            filters.add(RowIterator.of(rows));
+        }
+        if (query.title() != null) {
+            String title = TitleIndex.normalize(query.title());
+            RowIterator rows = titleIndex.search(title);
+            if (rows != null && query.fuzzy() > 0) {
+                RowIterator typos = fuzzyIndex.search(title, query.fuzzy());
+                rows = typos != null ? RowIterator.or(List.of(rows, typos)) : rows;
+            }
+            if (rows != null) {
+                filters.add(rows);
+            }
+        }
+
+        return filters.isEmpty() ? RowIterator.range(0, store.size()) : RowIterator.and(filters);
+    }
+
+    /**
+     * Whether {@code query} filters anything, i.e. whether {@link #matches} is narrower than
+     * the whole catalog.
+     */
+    public boolean constrains(MovieQuery query) {
+        return query.year() != null || query.type() != null
+                || (query.title() != null && !query.title().isEmpty());
+    }
+
+    /**
+     * Sort key of a row under {@code order}: smaller keys come first and no two rows share one.
+     * Numeric orders read the pre-sorted rank; relevance puts the title tier (exact, prefix,
+     * substring, fuzzy) in the high bits and breaks ties by votes.
+     */
+    public IntToLongFunction sortKey(SortOrder order, MovieQuery query) {
+        int[] rank = sortIndex.rank(order);
+        if (order != SortOrder.RELEVANCE || query.title() == null || query.title().isEmpty()) {
+            return row -> rank[row];
+        }
+        String title = TitleIndex.normalize(query.title());
+        if (query.fuzzy() > 0) {
+            return row -> ((long) (titleIndex.matches(row, title) ? titleIndex.tier(row, title) : TitleIndex.FUZZY_TIER) << 32)
+                    | rank[row];
+        }
+        return row -> ((long) titleIndex.tier(row, title) << 32) | rank[row];
+    }
+
+    /**
+     * Feeds up to {@code limit} rows whose title, or a word of it onwards, starts with
+     * {@code prefix}, most voted first; see {@link SuggestIndex}. Returns how many were fed.
+     */
+    public int suggest(String prefix, int limit, IntConsumer rows) {
+        return suggestIndex.suggest(TitleIndex.normalize(prefix), limit, rows);
+    }
+
+    /**
+     * Counts per facet (type, decade, genre, rated) and value over the whole catalog, most
+     * frequent first; see {@link FacetIndex}. Shared and must not be modified.
+     */
+    public Map<String, Map<String, Integer>> facets() {
+        return facetIndex.get().counts();
+    }
+
+    /** Same as {@link #facets()}, restricted to {@code rows}, e.g. the matches of a query. */
+    public Map<String, Map<String, Integer>> facets(RowBitmap rows) {
+        return facetIndex.get().counts(rows);
+    }
+
+    /** Directors, writers and actors; person ids are only valid for this catalog. */
+    public PersonIndex people() {
+        return personIndex.get();
+    }
+
+    /**
+     * Rows crediting {@code person} in {@code role} (any role when {@code null}), optionally
+     * restricted to titles of {@code type} starting in {@code [fromYear, toYear]}. The filmography
+     * leads a leapfrog intersection with the type postings; the year range is checked per row.
+     */
+    public RowIterator credits(int person, PersonIndex.Role role, Integer fromYear, Integer toYear, String type) {
+        List<RowIterator> filters = new ArrayList<>(3);
+        PersonIndex people = personIndex.get();
+        if (role != null) {
+            filters.add(people.movies(person, role));
+        } else {
+            List<RowIterator> roles = new ArrayList<>(PersonIndex.Role.values().length);
+            for (PersonIndex.Role each : PersonIndex.Role.values()) {
+                if (people.count(person, each) > 0) {
+                    roles.add(people.movies(person, each));
+                }
+            }
+            if (roles.isEmpty()) {
+                return RowIterator.empty();
+            }
+            filters.add(RowIterator.or(roles));
+        }
+        if (type != null && !type.isBlank()) {
+            int[] rows = byType.get(type.strip().toLowerCase(Locale.ROOT));
+            if (rows == null) {
+                return RowIterator.empty();
+            }
+            filters.add(RowIterator.of(rows));
+        }
+        RowIterator credited = RowIterator.and(filters);
+        if (fromYear == null && toYear == null) {
+            return credited;
+        }
+        // Uma filmografia é curta: conferir o ano linha a linha sai mais barato que unir as postings de cada ano
+        return yearIndex.get().between(credited, fromYear != null ? fromYear : 0, toYear != null ? toYear : Integer.MAX_VALUE);
+    }
+
+    /** Rows of the whole catalog in {@code order}; see {@link SortIndex#permutation}. */
+    public int[] sorted(SortOrder order) {
+        return sortIndex.permutation(order);
+    }
+
+    private Map<String, int[]> index(IntFunction<String> field, boolean ignoreCase) {
+        Map<String, IntArrayBuilder> builders = new HashMap<>();
+        for (int row = 0; row < store.size(); row++) {
+            String value = field.apply(row);
+            if (value == null) {
+                continue;
+            }
+            String key = ignoreCase ? value.toLowerCase(Locale.ROOT) : value;
+            builders.computeIfAbsent(key, k -> new IntArrayBuilder()).add(row);
+        }
+        Map<String, int[]> index = new HashMap<>(builders.size() * 4 / 3 + 1);
+        builders.forEach((key, builder) -> index.put(key, builder.toArray()));
+        return index;
+    }
+
+    private List<String> column(IntFunction<String> field) {
+        return new AbstractList<>() {
+            @Override
+            public String get(int row) {
+                return field.apply(row);
+            }
+
+            @Override
+            public int size() {
+                return store.size();
+            }
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package com.movieapp.catalog;
+
+import com.movieapp.dto.MovieDetailDto;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Origin of the movie catalog. Implementations push records one at a time so a large
+ * dump never has to be held in memory as raw text.
+ */
+public interface MovieCatalogSource {
+
+    String name();
+
+    /**
+     * Opaque token that changes whenever the underlying data changes; used to decide
+     * whether a reload is needed. Sources that never change may keep the default.
+     */
+    default String version() throws IOException {
+        return name();
+    }
+
+    /**
+     * Cheap stamp (e.g. modification time and size) that changes whenever {@link #version} may
+     * have, for sources whose version is costly to compute; {@code null} when there is none.
+     */
+    default String fingerprint() throws IOException {
+        return null;
+    }
+
+    /**
+     * Hints that {@code version} was computed for {@code fingerprint}, e.g. as recorded in a
+     * snapshot, so {@link #version} need not compute it again while the fingerprint holds.
+     */
+    default void assumeVersion(String fingerprint, String version) {
+    }
+
+    void load(Consumer<MovieDetailDto> sink) throws IOException;
+}
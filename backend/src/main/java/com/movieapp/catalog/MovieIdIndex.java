@@ -0,0 +1,117 @@
+package com.movieapp.catalog;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * imdbID to row lookup. IDs shaped like {@code tt<digits>} are packed into a primitive long
+ * (digit count + numeric value, so leading zeros stay significant) and stored in an
+ * open-addressing table with linear probing: no boxing and no String hashing per lookup.
+ * Anything else falls back to a regular map.
+ */
+public final class MovieIdIndex {
+
+    private static final int MAX_DIGITS = 15;
+    private static final long NOT_PACKABLE = 0L;
+
+    private final long[] keys;
+    private final int[] rows;
+    private final int mask;
+    private final Map<String, Integer> fallback;
+
+    MovieIdIndex(long[] keys, int[] rows, Map<String, Integer> fallback) {
+        this.keys = keys;
+        this.rows = rows;
+        this.mask = keys.length - 1;
+        this.fallback = fallback;
+    }
+
+    public static MovieIdIndex build(List<String> ids) {
+        int capacity = Integer.highestOneBit(Math.max(ids.size(), 1) * 2 - 1) << 1;
+        long[] keys = new long[Math.max(capacity, 2)];
+        int[] rows = new int[keys.length];
+        int mask = keys.length - 1;
+        Map<String, Integer> fallback = new HashMap<>();
+
+        for (int row = 0; row < ids.size(); row++) {
+            String id = ids.get(row);
+            if (id == null) {
+                continue;
+            }
+            long key = pack(id);
+            if (key == NOT_PACKABLE) {
+                fallback.putIfAbsent(id, row);
+                continue;
+            }
+            int slot = slot(key, mask);
+            while (keys[slot] != 0L && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            // Mantém a primeira ocorrência, como o findFirst() original
+            if (keys[slot] == 0L) {
+                keys[slot] = key;
+                rows[slot] = row;
+            }
+        }
+        return new MovieIdIndex(keys, rows, fallback.isEmpty() ? Map.of() : fallback);
+    }
+
+    /**
+     * Returns the row of {@code imdbId}, or {@code -1} when it is not in the catalog.
+     */
+    public int rowOf(String imdbId) {
+        if (imdbId == null) {
+            return -1;
+        }
+        long key = pack(imdbId);
+        if (key == NOT_PACKABLE) {
+            Integer row = fallback.get(imdbId);
+            return row != null ? row : -1;
+        }
+        int slot = slot(key, mask);
+        long current;
+        while ((current = keys[slot]) != 0L) {
+            if (current == key) {
+                return rows[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    long[] keys() {
+        return keys;
+    }
+
+    int[] rows() {
+        return rows;
+    }
+
+    Map<String, Integer> fallback() {
+        return fallback;
+    }
+
+    static long pack(String id) {
+        int digits = id.length() - 2;
+        if (digits < 1 || digits > MAX_DIGITS || id.charAt(0) != 't' || id.charAt(1) != 't') {
+            return NOT_PACKABLE;
+        }
+        long value = 0;
+        for (int i = 2; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return NOT_PACKABLE;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return ((long) digits << 50) | value;
+    }
+
+    private static int slot(long key, int mask) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key & mask;
+    }
+}
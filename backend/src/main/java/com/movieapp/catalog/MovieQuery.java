@@ -0,0 +1,56 @@
+package com.movieapp.catalog;
+
+import com.movieapp.dto.MovieDetailDto;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Search filters; {@code null} disables a filter. {@code fuzzy} is the edit distance a title
+ * word may be from a query word (0 for substring matching only). {@link #matches} is the
+ * reference predicate the catalog indexes must agree with.
+ */
+public record MovieQuery(String title, String year, String type, int fuzzy) {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    public MovieQuery(String title, String year, String type) {
+        this(title, year, type, 0);
+    }
+
+    public MovieQuery {
+        if (fuzzy < 0 || fuzzy > FuzzyTitleIndex.MAX_EDITS) {
+            throw new IllegalArgumentException("fuzzy must be between 0 and " + FuzzyTitleIndex.MAX_EDITS);
+        }
+    }
+
+    /**
+     * Same query in canonical form: title lower-cased with whitespace trimmed and collapsed,
+     * type lower-cased, blank year or type dropped. Matches exactly what this query matches,
+     * up to whitespace in the title, and is what cache keys are built from.
+     */
+    public MovieQuery normalized() {
+        String normalizedTitle = title == null ? null
+                : TitleIndex.normalize(WHITESPACE.matcher(title.strip()).replaceAll(" "));
+        String normalizedYear = year == null || year.isBlank() ? null : year.strip();
+        String normalizedType = type == null || type.isBlank() ? null : type.strip().toLowerCase(Locale.ROOT);
+        return new MovieQuery(normalizedTitle, normalizedYear, normalizedType, fuzzy);
+    }
+
+    public boolean matches(MovieDetailDto movie) {
+        return (title == null || titleMatches(movie.title()))
+                && (year == null || year.equals(movie.year()))
+                && (type == null || type.equalsIgnoreCase(movie.type()));
+    }
+
+    private boolean titleMatches(String movieTitle) {
+        if (movieTitle == null) {
+            return false;
+        }
+        String normalizedTitle = TitleIndex.normalize(movieTitle);
+        String normalizedQuery = TitleIndex.normalize(title);
+        // O índice limita as expansões por termo, então aqui pode casar um pouco a mais
+        return normalizedTitle.contains(normalizedQuery)
+                || (fuzzy > 0 && FuzzyTitleIndex.matches(normalizedTitle, normalizedQuery, fuzzy));
+    }
+}
@@ -0,0 +1,73 @@
+package com.movieapp.catalog;
+
+import com.movieapp.dto.MovieDetailDto;
+import com.movieapp.dto.MovieDto;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Row storage behind a {@link MovieCatalog}. Records are addressed by row id and only
+ * materialized as DTOs when a response needs them.
+ */
+public interface MovieStore {
+
+    enum Type {
+        HEAP, COMPACT;
+
+        public static Type of(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    int size();
+
+    MovieDetailDto get(int row);
+
+    MovieDto summary(int row);
+
+    String imdbId(int row);
+
+    String title(int row);
+
+    String year(int row);
+
+    String type(int row);
+
+    String genre(int row);
+
+    String rated(int row);
+
+    String director(int row);
+
+    String writer(int row);
+
+    String actors(int row);
+
+    String imdbRating(int row);
+
+    String imdbVotes(int row);
+
+    String boxOffice(int row);
+
+    /** Estimated bytes retained on the Java heap. */
+    long heapBytes();
+
+    /** Bytes held outside the Java heap (direct or mapped buffers). */
+    long offHeapBytes();
+
+    default List<MovieDetailDto> asList() {
+        return new AbstractList<>() {
+            @Override
+            public MovieDetailDto get(int index) {
+                return MovieStore.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return MovieStore.this.size();
+            }
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package com.movieapp.catalog;
+
+/**
+ * Text formats of the numeric OMDb fields. {@link #parse} returns {@link #UNPARSEABLE}
+ * for anything that would not format back to exactly the same text, so callers can keep
+ * those values as raw strings.
+ */
+enum NumericFormat {
+
+    /** {@code "82"} */
+    INTEGER,
+    /** {@code "9.3"}, stored in tenths */
+    DECIMAL_1,
+    /** {@code "2,804,105"} */
+    GROUPED,
+    /** {@code "$16,000,000"} */
+    DOLLARS,
+    /** {@code "142 min"} */
+    MINUTES;
+
+    static final long UNPARSEABLE = Long.MIN_VALUE;
+
+    long parse(String text) {
+        long value = switch (this) {
+            case INTEGER -> digits(text, 0, text.length(), false);
+            case DECIMAL_1 -> decimal(text);
+            case GROUPED -> digits(text, 0, text.length(), true);
+            case DOLLARS -> text.startsWith("$") ? digits(text, 1, text.length(), true) : UNPARSEABLE;
+            case MINUTES -> text.endsWith(" min") ? digits(text, 0, text.length() - 4, false) : UNPARSEABLE;
+        };
+        return value != UNPARSEABLE && format(value).equals(text) ? value : UNPARSEABLE;
+    }
+
+    String format(long value) {
+        return switch (this) {
+            case INTEGER -> Long.toString(value);
+            case DECIMAL_1 -> (value / 10) + "." + (value % 10);
+            case GROUPED -> grouped(value);
+            case DOLLARS -> "$" + grouped(value);
+            case MINUTES -> value + " min";
+        };
+    }
+
+    private static long digits(String text, int from, int to, boolean allowCommas) {
+        if (from >= to || to - from > 18) {
+            return UNPARSEABLE;
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c == ',' && allowCommas) {
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                return UNPARSEABLE;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static long decimal(String text) {
+        int dot = text.indexOf('.');
+        if (dot < 1 || dot != text.length() - 2) {
+            return UNPARSEABLE;
+        }
+        long whole = digits(text, 0, dot, false);
+        long tenth = digits(text, dot + 1, text.length(), false);
+        return whole == UNPARSEABLE || tenth == UNPARSEABLE ? UNPARSEABLE : whole * 10 + tenth;
+    }
+
+    private static String grouped(long value) {
+        String plain = Long.toString(value);
+        StringBuilder out = new StringBuilder(plain.length() + plain.length() / 3);
+        int lead = plain.length() % 3;
+        for (int i = 0; i < plain.length(); i++) {
+            if (i > 0 && (i - lead) % 3 == 0) {
+                out.append(',');
+            }
+            out.append(plain.charAt(i));
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,257 @@
+package com.movieapp.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+
+/**
+ * Directors, writers and actors of the catalog. Every distinct name is kept once and numbered
+ * in alphabetical order; each role maps a person to an ascending slice of one shared
+ * {@code int[]} of rows (compressed sparse rows), so a filmography is a ready posting list.
+ * Name lookup is a binary search over the word starts of every name ("christopher nolan",
+ * "nolan"), stored as (person, offset) pairs instead of strings.
+ */
+public final class PersonIndex {
+
+    public enum Role {
+        DIRECTOR("director"), WRITER("writer"), ACTOR("actor");
+
+        private final String param;
+
+        Role(String param) {
+            this.param = param;
+        }
+
+        public String param() {
+            return param;
+        }
+
+        /** The role named by {@code value}, or {@code null} (every role) when blank. */
+        public static Role fromParam(String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            for (Role role : values()) {
+                if (role.param.equalsIgnoreCase(value.strip())) {
+                    return role;
+                }
+            }
+            throw new IllegalArgumentException("Unknown role '" + value + "'; use director, writer or actor");
+        }
+    }
+
+    private final String[] names;
+    private final String[] normalized;
+    private final int[][] starts;
+    private final int[][] rows;
+    private final int[] wordPerson;
+    private final int[] wordOffset;
+
+    private PersonIndex(String[] names, int[][] starts, int[][] rows) {
+        this.names = names;
+        this.normalized = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            normalized[i] = normalize(names[i]);
+        }
+        this.starts = starts;
+        this.rows = rows;
+
+        IntArrayBuilder persons = new IntArrayBuilder(names.length * 2);
+        IntArrayBuilder offsets = new IntArrayBuilder(names.length * 2);
+        for (int person = 0; person < names.length; person++) {
+            String name = normalized[person];
+            for (int i = 0; i < name.length(); i++) {
+                if (i == 0 || name.charAt(i - 1) == ' ') {
+                    persons.add(person);
+                    offsets.add(i);
+                }
+            }
+        }
+        // Ordena as palavras só na carga; a busca compara direto no nome, sem substring
+        Integer[] order = new Integer[persons.size()];
+        int[] personOf = persons.toArray();
+        int[] offsetOf = offsets.toArray();
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> compareSuffixes(
+                normalized[personOf[a]], offsetOf[a], normalized[personOf[b]], offsetOf[b]));
+        this.wordPerson = new int[order.length];
+        this.wordOffset = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            wordPerson[i] = personOf[order[i]];
+            wordOffset[i] = offsetOf[order[i]];
+        }
+    }
+
+    public static PersonIndex build(MovieStore store) {
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        long[][] credits = new long[Role.values().length][];
+        int[] counts = new int[credits.length];
+        for (int r = 0; r < credits.length; r++) {
+            credits[r] = new long[Math.max(store.size(), 16)];
+        }
+        List<IntFunction<String>> fields = List.of(store::director, store::writer, store::actors);
+        for (int row = 0; row < store.size(); row++) {
+            for (Role role : Role.values()) {
+                String value = fields.get(role.ordinal()).apply(row);
+                if (value == null) {
+                    continue;
+                }
+                for (String credit : value.split(",")) {
+                    // "Jonathan Nolan (screenplay)" é a mesma pessoa que "Jonathan Nolan (story)"
+                    int note = credit.indexOf('(');
+                    String name = (note >= 0 ? credit.substring(0, note) : credit).strip();
+                    if (name.isEmpty() || name.equals("N/A")) {
+                        continue;
+                    }
+                    Integer id = ids.get(name);
+                    if (id == null) {
+                        id = names.size();
+                        ids.put(name, id);
+                        names.add(name);
+                    }
+                    int r = role.ordinal();
+                    if (counts[r] == credits[r].length) {
+                        credits[r] = Arrays.copyOf(credits[r], counts[r] << 1);
+                    }
+                    credits[r][counts[r]++] = ((long) id << 32) | row;
+                }
+            }
+        }
+
+        // Ids em ordem alfabética: determinísticos para o mesmo catálogo
+        Integer[] byName = new Integer[names.size()];
+        for (int i = 0; i < byName.length; i++) {
+            byName[i] = i;
+        }
+        Comparator<Integer> alphabetical = Comparator.comparing(i -> names.get(i).toLowerCase(Locale.ROOT));
+        Arrays.sort(byName, alphabetical.thenComparing(names::get));
+        int[] finalId = new int[byName.length];
+        String[] sortedNames = new String[byName.length];
+        for (int i = 0; i < byName.length; i++) {
+            finalId[byName[i]] = i;
+            sortedNames[i] = names.get(byName[i]);
+        }
+
+        int[][] starts = new int[credits.length][];
+        int[][] rows = new int[credits.length][];
+        for (int r = 0; r < credits.length; r++) {
+            long[] pairs = credits[r];
+            for (int i = 0; i < counts[r]; i++) {
+                pairs[i] = ((long) finalId[(int) (pairs[i] >>> 32)] << 32) | (pairs[i] & 0xFFFFFFFFL);
+            }
+            Arrays.sort(pairs, 0, counts[r]);
+            int[] start = new int[sortedNames.length + 1];
+            IntArrayBuilder roleRows = new IntArrayBuilder(counts[r]);
+            int person = 0;
+            for (int i = 0; i < counts[r]; i++) {
+                int id = (int) (pairs[i] >>> 32);
+                while (person < id) {
+                    start[++person] = roleRows.size();
+                }
+                // Mesmo nome duas vezes no mesmo campo conta uma vez
+                if (i == 0 || pairs[i] != pairs[i - 1]) {
+                    roleRows.add((int) pairs[i]);
+                }
+            }
+            while (person < sortedNames.length) {
+                start[++person] = roleRows.size();
+            }
+            starts[r] = start;
+            rows[r] = roleRows.toArray();
+        }
+        return new PersonIndex(sortedNames, starts, rows);
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public String name(int person) {
+        return names[person];
+    }
+
+    /** Number of movies {@code person} is credited in for {@code role}. */
+    public int count(int person, Role role) {
+        int[] start = starts[role.ordinal()];
+        return start[person + 1] - start[person];
+    }
+
+    /** Rows crediting {@code person} in {@code role}, ascending. */
+    public RowIterator movies(int person, Role role) {
+        int[] start = starts[role.ordinal()];
+        return RowIterator.slice(rows[role.ordinal()], start[person], start[person + 1]);
+    }
+
+    /**
+     * Feeds up to {@code limit} people with a name word starting with {@code prefix}, most
+     * credited first, and returns how many were fed.
+     */
+    public int search(String prefix, int limit, IntConsumer consumer) {
+        String query = normalize(prefix);
+        if (query.isEmpty() || limit <= 0) {
+            return 0;
+        }
+        int low = 0;
+        int high = wordPerson.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareSuffixes(normalized[wordPerson[middle]], wordOffset[middle], query, 0) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        IntArrayBuilder matches = new IntArrayBuilder();
+        for (int i = low; i < wordPerson.length && normalized[wordPerson[i]].startsWith(query, wordOffset[i]); i++) {
+            matches.add(wordPerson[i]);
+        }
+        // Duas palavras do mesmo nome podem casar ("john johnson"): cada pessoa entra uma vez
+        int[] people = matches.toArray();
+        Arrays.sort(people);
+        TopK top = new TopK(limit);
+        for (int i = 0; i < people.length; i++) {
+            if (i == 0 || people[i] != people[i - 1]) {
+                // Mais créditos primeiro; empate pelo id, que é alfabético
+                top.offer(((long) (Integer.MAX_VALUE - credits(people[i])) << 32) | people[i], people[i]);
+            }
+        }
+        int[] best = top.drainSorted();
+        for (int person : best) {
+            consumer.accept(person);
+        }
+        return best.length;
+    }
+
+    private int credits(int person) {
+        int total = 0;
+        for (Role role : Role.values()) {
+            total += count(person, role);
+        }
+        return total;
+    }
+
+    static String normalize(String name) {
+        return name.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static int compareSuffixes(String a, int from, String b, int bFrom) {
+        int length = Math.min(a.length() - from, b.length() - bFrom);
+        for (int i = 0; i < length; i++) {
+            int diff = a.charAt(from + i) - b.charAt(bFrom + i);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return (a.length() - from) - (b.length() - bFrom);
+    }
+}
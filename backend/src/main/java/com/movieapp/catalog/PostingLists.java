@@ -0,0 +1,75 @@
+package com.movieapp.catalog;
+
+import java.util.Arrays;
+
+public final class PostingLists {
+
+    public static final int[] EMPTY = new int[0];
+
+    private PostingLists() {
+    }
+
+    public static int[] intersect(int[] small, int[] large) {
+        if (small.length > large.length) {
+            int[] tmp = small;
+            small = large;
+            large = tmp;
+        }
+        int[] out = new int[small.length];
+        int size = 0;
+
+        // Listas muito desbalanceadas: busca exponencial na maior
+        if ((long) small.length * 16 < large.length) {
+            int from = 0;
+            for (int value : small) {
+                from = gallop(large, from, value);
+                if (from >= large.length) {
+                    break;
+                }
+                if (large[from] == value) {
+                    out[size++] = value;
+                }
+            }
+        } else {
+            int i = 0;
+            int j = 0;
+            while (i < small.length && j < large.length) {
+                int a = small[i];
+                int b = large[j];
+                if (a == b) {
+                    out[size++] = a;
+                    i++;
+                    j++;
+                } else if (a < b) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+        }
+        return size == out.length ? out : Arrays.copyOf(out, size);
+    }
+
+    /**
+     * Returns the first index at or after {@code from} whose value is {@code >= target}.
+     */
+    public static int gallop(int[] list, int from, int target) {
+        return gallop(list, from, list.length, target);
+    }
+
+    /** Same as {@link #gallop(int[], int, int)}, within {@code list[..to)}; returns {@code to} if none. */
+    public static int gallop(int[] list, int from, int to, int target) {
+        int bound = 1;
+        int lo = from;
+        while (from + bound < to && list[from + bound] < target) {
+            lo = from + bound;
+            bound <<= 1;
+        }
+        int hi = Math.min(from + bound, to - 1);
+        if (lo >= to) {
+            return to;
+        }
+        int idx = Arrays.binarySearch(list, lo, hi + 1, target);
+        return idx >= 0 ? idx : -idx - 1;
+    }
+}
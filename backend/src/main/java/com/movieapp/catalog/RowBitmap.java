@@ -0,0 +1,182 @@
+package com.movieapp.catalog;
+
+import java.util.Arrays;
+
+/**
+ * Immutable set of row ids in the Roaring layout: rows are grouped by their high 16 bits and
+ * each group is kept as a sorted {@code char[]} of its low bits while it has at most
+ * {@value #ARRAY_MAX} rows, or as a 1024-word bitset beyond that. A group then never costs
+ * more than 8 KB, and intersection sizes are computed group by group without materializing
+ * any row.
+ */
+public final class RowBitmap {
+
+    static final int ARRAY_MAX = 4096;
+    private static final int BITSET_WORDS = 1 << 10;
+
+    private final char[] keys;
+    private final Object[] containers;
+    private final int cardinality;
+
+    private RowBitmap(char[] keys, Object[] containers, int cardinality) {
+        this.keys = keys;
+        this.containers = containers;
+        this.cardinality = cardinality;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    /** Size of the intersection with {@code other}. */
+    public int andCardinality(RowBitmap other) {
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                count += andCardinality(containers[i++], other.containers[j++]);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Same rows with every group as a bitset, for a set intersected many times: each intersection
+     * then costs at most 1024 word operations per group instead of one lookup per row.
+     */
+    RowBitmap dense() {
+        Object[] bitsets = new Object[containers.length];
+        for (int i = 0; i < containers.length; i++) {
+            if (containers[i] instanceof char[] lows) {
+                long[] words = new long[BITSET_WORDS];
+                for (char low : lows) {
+                    words[low >>> 6] |= 1L << low;
+                }
+                bitsets[i] = words;
+            } else {
+                bitsets[i] = containers[i];
+            }
+        }
+        return new RowBitmap(keys, bitsets, cardinality);
+    }
+
+    private static int andCardinality(Object a, Object b) {
+        if (a instanceof long[] left) {
+            if (b instanceof long[] right) {
+                int count = 0;
+                for (int k = 0; k < BITSET_WORDS; k++) {
+                    count += Long.bitCount(left[k] & right[k]);
+                }
+                return count;
+            }
+            return countIn((char[]) b, left);
+        }
+        return b instanceof long[] right ? countIn((char[]) a, right) : intersectionSize((char[]) a, (char[]) b);
+    }
+
+    private static int countIn(char[] lows, long[] words) {
+        int count = 0;
+        for (char low : lows) {
+            count += (int) (words[low >>> 6] >>> low) & 1;
+        }
+        return count;
+    }
+
+    private static int intersectionSize(char[] a, char[] b) {
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                count++;
+                i++;
+                j++;
+            }
+        }
+        return count;
+    }
+
+    /** Collects rows in ascending order (repeats of the last row are ignored). Single use. */
+    public static final class Builder {
+
+        private char[] keys = new char[4];
+        private Object[] containers = new Object[4];
+        private int groups;
+        private int cardinality;
+        private int last = -1;
+
+        private int key = -1;
+        private char[] lows = new char[16];
+        private int lowCount;
+        private long[] words;
+
+        private Builder() {
+        }
+
+        public Builder add(int row) {
+            if (row <= last) {
+                if (row == last) {
+                    return this;
+                }
+                throw new IllegalArgumentException("Rows must be added in ascending order");
+            }
+            last = row;
+            int high = row >>> 16;
+            if (high != key) {
+                flush();
+                key = high;
+            }
+            char low = (char) row;
+            if (words != null) {
+                words[low >>> 6] |= 1L << low;
+            } else if (lowCount == ARRAY_MAX) {
+                // Grupo denso: vira bitset e para de crescer
+                words = new long[BITSET_WORDS];
+                for (int i = 0; i < lowCount; i++) {
+                    words[lows[i] >>> 6] |= 1L << lows[i];
+                }
+                words[low >>> 6] |= 1L << low;
+            } else {
+                if (lowCount == lows.length) {
+                    lows = Arrays.copyOf(lows, lowCount << 1);
+                }
+                lows[lowCount++] = low;
+            }
+            cardinality++;
+            return this;
+        }
+
+        public RowBitmap build() {
+            flush();
+            return new RowBitmap(Arrays.copyOf(keys, groups), Arrays.copyOf(containers, groups), cardinality);
+        }
+
+        private void flush() {
+            if (key < 0) {
+                return;
+            }
+            if (groups == keys.length) {
+                keys = Arrays.copyOf(keys, groups << 1);
+                containers = Arrays.copyOf(containers, groups << 1);
+            }
+            keys[groups] = (char) key;
+            containers[groups++] = words != null ? words : Arrays.copyOf(lows, lowCount);
+            key = -1;
+            lowCount = 0;
+            words = null;
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.movieapp.catalog;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Forward-only cursor over ascending row ids, so matches can be counted, skipped and paged
+ * without materializing them. Positioned before the first row until {@link #next()} or
+ * {@link #advance(int)} is called.
+ */
+public abstract class RowIterator {
+
+    public static final int NO_MORE_ROWS = Integer.MAX_VALUE;
+
+    protected int current = -1;
+
+    public final int row() {
+        return current;
+    }
+
+    /** Moves to the next row and returns it, or {@link #NO_MORE_ROWS}. */
+    public abstract int next();
+
+    /** Moves to the first row {@code >= target} (staying put if already there) and returns it. */
+    public abstract int advance(int target);
+
+    /** Upper bound on the rows this iterator can still produce; used to order intersections. */
+    public abstract long cost();
+
+    /** Number of rows after the current one. Walks the remaining rows unless the size is known. */
+    public int remaining() {
+        int count = 0;
+        while (next() != NO_MORE_ROWS) {
+            count++;
+        }
+        return count;
+    }
+
+    /** Skips {@code n} rows and returns how many were actually skipped. */
+    public int skip(int n) {
+        int skipped = 0;
+        while (skipped < n && next() != NO_MORE_ROWS) {
+            skipped++;
+        }
+        return skipped;
+    }
+
+    public static RowIterator empty() {
+        return of(PostingLists.EMPTY);
+    }
+
+    public static RowIterator of(int[] rows) {
+        return new ArrayRows(rows, 0, rows.length);
+    }
+
+    /** Rows {@code rows[from..to)}, which must be ascending. */
+    public static RowIterator slice(int[] rows, int from, int to) {
+        return new ArrayRows(rows, from, to);
+    }
+
+    public static RowIterator range(int from, int to) {
+        return new RangeRows(from, to);
+    }
+
+    public static RowIterator and(List<RowIterator> iterators) {
+        return iterators.size() == 1 ? iterators.get(0) : new Conjunction(iterators);
+    }
+
+    public static RowIterator or(List<RowIterator> iterators) {
+        return iterators.size() == 1 ? iterators.get(0) : new Disjunction(iterators);
+    }
+
+    public static RowIterator filter(RowIterator inner, IntPredicate accept) {
+        return new Filtered(inner, accept);
+    }
+
+    public static int[] drain(RowIterator iterator) {
+        IntArrayBuilder rows = new IntArrayBuilder((int) Math.min(iterator.cost(), 1024));
+        for (int row = iterator.next(); row != NO_MORE_ROWS; row = iterator.next()) {
+            rows.add(row);
+        }
+        return rows.toArray();
+    }
+
+    private static final class ArrayRows extends RowIterator {
+        private final int[] rows;
+        private final int from;
+        private final int to;
+        private int index;
+
+        ArrayRows(int[] rows, int from, int to) {
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+            this.index = from - 1;
+        }
+
+        @Override
+        public int next() {
+            return current = ++index < to ? rows[index] : NO_MORE_ROWS;
+        }
+
+        @Override
+        public int advance(int target) {
+            if (current >= target) {
+                return current;
+            }
+            index = PostingLists.gallop(rows, Math.max(index, from), to, target);
+            return current = index < to ? rows[index] : NO_MORE_ROWS;
+        }
+
+        @Override
+        public long cost() {
+            return to - from;
+        }
+
+        @Override
+        public int remaining() {
+            int count = Math.max(to - index - 1, 0);
+            index = to;
+            current = NO_MORE_ROWS;
+            return count;
+        }
+
+        @Override
+        public int skip(int n) {
+            int skipped = Math.min(n, Math.max(to - index - 1, 0));
+            index += skipped;
+            current = index >= from && index < to ? rows[index] : current;
+            return skipped;
+        }
+    }
+
+    private static final class RangeRows extends RowIterator {
+        private final int from;
+        private final int to;
+
+        RangeRows(int from, int to) {
+            this.from = from;
+            this.to = to;
+            this.current = from - 1;
+        }
+
+        @Override
+        public int next() {
+            return current = current + 1 < to ? current + 1 : NO_MORE_ROWS;
+        }
+
+        @Override
+        public int advance(int target) {
+            if (current >= target) {
+                return current;
+            }
+            return current = target < to ? Math.max(target, from) : NO_MORE_ROWS;
+        }
+
+        @Override
+        public long cost() {
+            return to - from;
+        }
+
+        @Override
+        public int remaining() {
+            int count = current == NO_MORE_ROWS ? 0 : Math.max(to - current - 1, 0);
+            current = NO_MORE_ROWS;
+            return count;
+        }
+
+        @Override
+        public int skip(int n) {
+            if (current == NO_MORE_ROWS) {
+                return 0;
+            }
+            int skipped = Math.min(n, Math.max(to - current - 1, 0));
+            current += skipped;
+            return skipped;
+        }
+    }
+
+    /** Leapfrog intersection: the cheapest iterator leads, the others gallop to its row. */
+    private static final class Conjunction extends RowIterator {
+        private final RowIterator lead;
+        private final RowIterator[] others;
+
+        Conjunction(List<RowIterator> iterators) {
+            RowIterator[] sorted = iterators.toArray(new RowIterator[0]);
+            Arrays.sort(sorted, Comparator.comparingLong(RowIterator::cost));
+            this.lead = sorted[0];
+            this.others = Arrays.copyOfRange(sorted, 1, sorted.length);
+        }
+
+        @Override
+        public int next() {
+            return current = align(lead.next());
+        }
+
+        @Override
+        public int advance(int target) {
+            if (current >= target) {
+                return current;
+            }
+            return current = align(lead.advance(target));
+        }
+
+        private int align(int candidate) {
+            outer:
+            while (candidate != NO_MORE_ROWS) {
+                for (RowIterator other : others) {
+                    int row = other.advance(candidate);
+                    if (row > candidate) {
+                        candidate = lead.advance(row);
+                        continue outer;
+                    }
+                }
+                return candidate;
+            }
+            return NO_MORE_ROWS;
+        }
+
+        @Override
+        public long cost() {
+            return lead.cost();
+        }
+    }
+
+    /** Union over a min-heap of the inputs ordered by their current row. */
+    private static final class Disjunction extends RowIterator {
+        private final RowIterator[] heap;
+
+        Disjunction(List<RowIterator> iterators) {
+            // Todos começam antes da primeira linha: o vetor já é um heap válido
+            this.heap = iterators.toArray(new RowIterator[0]);
+        }
+
+        @Override
+        public int next() {
+            return current == NO_MORE_ROWS ? NO_MORE_ROWS : advance(current + 1);
+        }
+
+        @Override
+        public int advance(int target) {
+            if (current >= target) {
+                return current;
+            }
+            while (heap[0].row() < target) {
+                heap[0].advance(target);
+                siftDown();
+            }
+            return current = heap[0].row();
+        }
+
+        private void siftDown() {
+            RowIterator top = heap[0];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= heap.length) {
+                    break;
+                }
+                if (child + 1 < heap.length && heap[child + 1].row() < heap[child].row()) {
+                    child++;
+                }
+                if (top.row() <= heap[child].row()) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = top;
+        }
+
+        @Override
+        public long cost() {
+            long cost = 0;
+            for (RowIterator iterator : heap) {
+                cost += iterator.cost();
+            }
+            return cost;
+        }
+    }
+
+    private static final class Filtered extends RowIterator {
+        private final RowIterator inner;
+        private final IntPredicate accept;
+
+        Filtered(RowIterator inner, IntPredicate accept) {
+            this.inner = inner;
+            this.accept = accept;
+        }
+
+        @Override
+        public int next() {
+            return current = accept(inner.next());
+        }
+
+        @Override
+        public int advance(int target) {
+            if (current >= target) {
+                return current;
+            }
+            return current = accept(inner.advance(target));
+        }
+
+        private int accept(int row) {
+            while (row != NO_MORE_ROWS && !accept.test(row)) {
+                row = inner.next();
+            }
+            return row;
+        }
+
+        @Override
+        public long cost() {
+            return inner.cost();
+        }
+    }
+}
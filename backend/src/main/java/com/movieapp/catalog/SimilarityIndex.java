@@ -0,0 +1,276 @@
+package com.movieapp.catalog;
+
+import com.movieapp.dto.MovieDetailDto;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * The most similar titles of every row, precomputed. A row's features are its genres, director,
+ * actors, writers, languages and countries, hashed with the field in the low bits; two rows are
+ * scored by weighted Jaccard, so a shared director counts more than a shared language.
+ * Candidates come from MinHash signatures bucketed by LSH bands, which keeps the build close to
+ * linear; catalogs of up to {@value #EXACT_MAX} rows simply compare every pair. The build splits
+ * rows across a {@link ForkJoinPool}; a lookup only reads the table.
+ */
+public final class SimilarityIndex {
+
+    static final int EXACT_MAX = 2048;
+    private static final int HASHES = 16;
+    private static final int BAND_ROWS = 2;
+    private static final int BANDS = HASHES / BAND_ROWS;
+    // Vizinhos olhados de cada lado dentro de um balde, para baldes enormes não explodirem
+    private static final int WINDOW = 16;
+    private static final int LEAF_ROWS = 256;
+
+    private static final int GENRE = 0;
+    private static final int DIRECTOR = 1;
+    private static final int ACTOR = 2;
+    private static final int WRITER = 3;
+    private static final int LANGUAGE = 4;
+    private static final int COUNTRY = 5;
+    private static final float[] WEIGHTS = {1f, 3f, 2f, 2f, 0.5f, 0.5f, 0f, 0f};
+
+    private final int topN;
+    private final int[] neighbors;
+
+    private SimilarityIndex(int topN, int[] neighbors) {
+        this.topN = topN;
+        this.neighbors = neighbors;
+    }
+
+    public static SimilarityIndex build(MovieStore store, int topN, ForkJoinPool pool) {
+        if (topN <= 0) {
+            throw new IllegalArgumentException("topN must be positive");
+        }
+        int size = store.size();
+        int[][] features = new int[size][];
+        float[] weights = new float[size];
+        boolean exact = size <= EXACT_MAX;
+        int[] signatures = exact ? null : new int[size * HASHES];
+        pool.invoke(new RangeTask(0, size, LEAF_ROWS, (from, to) -> {
+            for (int row = from; row < to; row++) {
+                int[] rowFeatures = features(store.get(row));
+                features[row] = rowFeatures;
+                weights[row] = weight(rowFeatures);
+                if (signatures != null) {
+                    sign(rowFeatures, signatures, row * HASHES);
+                }
+            }
+        }));
+
+        // Cada banda ordena (hash da banda, linha): linhas do mesmo balde ficam contíguas
+        long[][] bands = new long[BANDS][];
+        int[][] positions = new int[BANDS][];
+        if (!exact) {
+            pool.invoke(new RangeTask(0, BANDS, 1, (from, to) -> {
+                for (int band = from; band < to; band++) {
+                    long[] entries = new long[size];
+                    for (int row = 0; row < size; row++) {
+                        int offset = row * HASHES + band * BAND_ROWS;
+                        entries[row] = ((long) mix(signatures[offset] * 31 + signatures[offset + 1], band) << 32) | row;
+                    }
+                    Arrays.sort(entries);
+                    int[] position = new int[size];
+                    for (int i = 0; i < size; i++) {
+                        position[(int) entries[i]] = i;
+                    }
+                    bands[band] = entries;
+                    positions[band] = position;
+                }
+            }));
+        }
+
+        int[] neighbors = new int[size * topN];
+        Arrays.fill(neighbors, -1);
+        pool.invoke(new RangeTask(0, size, LEAF_ROWS, (from, to) -> {
+            int[] candidates = new int[exact ? 0 : BANDS * 2 * WINDOW];
+            int[] best = new int[topN];
+            float[] bestScores = new float[topN];
+            for (int row = from; row < to; row++) {
+                if (weights[row] == 0) {
+                    continue;
+                }
+                int found = 0;
+                if (exact) {
+                    for (int other = 0; other < size; other++) {
+                        found = offer(row, other, features, weights, best, bestScores, found);
+                    }
+                } else {
+                    int count = collect(row, bands, positions, candidates);
+                    Arrays.sort(candidates, 0, count);
+                    for (int i = 0; i < count; i++) {
+                        if (i == 0 || candidates[i] != candidates[i - 1]) {
+                            found = offer(row, candidates[i], features, weights, best, bestScores, found);
+                        }
+                    }
+                }
+                System.arraycopy(best, 0, neighbors, row * topN, found);
+            }
+        }));
+        return new SimilarityIndex(topN, neighbors);
+    }
+
+    public int topN() {
+        return topN;
+    }
+
+    /** Feeds the rows most similar to {@code row}, most similar first, and returns how many. */
+    public int neighbors(int row, IntConsumer consumer) {
+        int count = 0;
+        for (int i = row * topN; i < (row + 1) * topN && neighbors[i] >= 0; i++) {
+            consumer.accept(neighbors[i]);
+            count++;
+        }
+        return count;
+    }
+
+    /** Members of {@code row}'s bucket in every band, up to {@link #WINDOW} on each side. */
+    private static int collect(int row, long[][] bands, int[][] positions, int[] candidates) {
+        int count = 0;
+        for (int band = 0; band < BANDS; band++) {
+            long[] entries = bands[band];
+            int at = positions[band][row];
+            int bucket = (int) (entries[at] >> 32);
+            for (int i = at - 1; i >= Math.max(0, at - WINDOW) && (int) (entries[i] >> 32) == bucket; i--) {
+                candidates[count++] = (int) entries[i];
+            }
+            for (int i = at + 1; i < Math.min(entries.length, at + WINDOW + 1) && (int) (entries[i] >> 32) == bucket; i++) {
+                candidates[count++] = (int) entries[i];
+            }
+        }
+        return count;
+    }
+
+    /** Keeps {@code other} among the best {@code found} so far (highest score first); returns the new count. */
+    private static int offer(int row, int other, int[][] features, float[] weights,
+                             int[] best, float[] bestScores, int found) {
+        if (other == row || weights[other] == 0) {
+            return found;
+        }
+        float score = similarity(features[row], weights[row], features[other], weights[other]);
+        if (score <= 0 || (found == best.length && score <= bestScores[found - 1])) {
+            return found;
+        }
+        int i = found < best.length ? found++ : found - 1;
+        for (; i > 0 && bestScores[i - 1] < score; i--) {
+            best[i] = best[i - 1];
+            bestScores[i] = bestScores[i - 1];
+        }
+        best[i] = other;
+        bestScores[i] = score;
+        return found;
+    }
+
+    private static float similarity(int[] a, float weightA, int[] b, float weightB) {
+        float shared = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                shared += WEIGHTS[a[i] & 7];
+                i++;
+                j++;
+            }
+        }
+        return shared == 0 ? 0 : shared / (weightA + weightB - shared);
+    }
+
+    static int[] features(MovieDetailDto movie) {
+        IntArrayBuilder features = new IntArrayBuilder(16);
+        addFeatures(features, GENRE, movie.genre());
+        addFeatures(features, DIRECTOR, movie.director());
+        addFeatures(features, ACTOR, movie.actors());
+        addFeatures(features, WRITER, movie.writer());
+        addFeatures(features, LANGUAGE, movie.language());
+        addFeatures(features, COUNTRY, movie.country());
+        int[] sorted = features.toArray();
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, distinct);
+    }
+
+    private static void addFeatures(IntArrayBuilder features, int field, String values) {
+        if (values == null) {
+            return;
+        }
+        for (String value : values.split(",")) {
+            // "Jonathan Nolan (screenplay)" e "Jonathan Nolan (story)" são a mesma pessoa
+            int credit = value.indexOf('(');
+            String name = (credit >= 0 ? value.substring(0, credit) : value).strip().toLowerCase(Locale.ROOT);
+            if (!name.isEmpty() && !name.equals("n/a")) {
+                features.add((mix(name.hashCode(), field) & ~7) | field);
+            }
+        }
+    }
+
+    private static float weight(int[] features) {
+        float weight = 0;
+        for (int feature : features) {
+            weight += WEIGHTS[feature & 7];
+        }
+        return weight;
+    }
+
+    private static void sign(int[] features, int[] signatures, int offset) {
+        for (int k = 0; k < HASHES; k++) {
+            int min = Integer.MAX_VALUE;
+            for (int feature : features) {
+                min = Math.min(min, mix(feature, k + 8));
+            }
+            signatures[offset + k] = min;
+        }
+    }
+
+    /** MurmurHash3's finalizer over {@code value} salted by {@code seed}. */
+    private static int mix(int value, int seed) {
+        int h = value * 0x9E3779B1 + seed * 0x85EBCA77;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+
+    @FunctionalInterface
+    private interface Range {
+        void run(int from, int to);
+    }
+
+    /** Splits {@code [from, to)} in halves down to {@code leaf} rows and runs {@code body} on each piece. */
+    private static final class RangeTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final int leaf;
+        private final Range body;
+
+        RangeTask(int from, int to, int leaf, Range body) {
+            this.from = from;
+            this.to = to;
+            this.leaf = leaf;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= leaf) {
+                body.run(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeTask(from, middle, leaf, body), new RangeTask(middle, to, leaf, body));
+        }
+    }
+}
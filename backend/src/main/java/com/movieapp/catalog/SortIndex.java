@@ -0,0 +1,114 @@
+package com.movieapp.catalog;
+
+import java.util.Arrays;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Pre-sorted orders of the catalog for the numeric {@link SortOrder}s, built once at load.
+ * {@code rank[row]} is the position of the row in that order, so comparing two matches is an
+ * array read; {@code permutation[position]} is the inverse, the rows in order. Ties and
+ * missing values keep catalog order, missing values after every present one.
+ */
+public final class SortIndex {
+
+    private static final long MISSING = Long.MIN_VALUE;
+
+    private final int[][] ranks;
+    private final int[][] permutations;
+
+    SortIndex(int[][] ranks) {
+        this.ranks = ranks;
+        this.permutations = new int[ranks.length][];
+        for (int i = 0; i < ranks.length; i++) {
+            permutations[i] = invert(ranks[i]);
+        }
+    }
+
+    public static SortIndex build(MovieStore store) {
+        SortOrder[] orders = SortOrder.values();
+        int[][] ranks = new int[orders.length][];
+        for (SortOrder order : orders) {
+            if (order != SortOrder.RELEVANCE) {
+                ranks[order.ordinal()] = ranks(store.size(), row -> value(store, order, row));
+            }
+        }
+        return new SortIndex(ranks);
+    }
+
+    /** Position of each row in {@code order}; for relevance, the votes order used to break ties. */
+    public int[] rank(SortOrder order) {
+        return ranks[rankSlot(order)];
+    }
+
+    /** Rows in {@code order}; for relevance, the votes order. */
+    public int[] permutation(SortOrder order) {
+        return permutations[rankSlot(order)];
+    }
+
+    int[][] ranks() {
+        return ranks;
+    }
+
+    private static int rankSlot(SortOrder order) {
+        return (order == SortOrder.RELEVANCE ? SortOrder.VOTES : order).ordinal();
+    }
+
+    private static long value(MovieStore store, SortOrder order, int row) {
+        String text = switch (order) {
+            case RATING -> store.imdbRating(row);
+            case VOTES -> store.imdbVotes(row);
+            case YEAR -> store.year(row);
+            case BOX_OFFICE -> store.boxOffice(row);
+            case RELEVANCE -> null;
+        };
+        if (text == null) {
+            return MISSING;
+        }
+        long value = switch (order) {
+            case RATING -> NumericFormat.DECIMAL_1.parse(text);
+            case VOTES -> NumericFormat.GROUPED.parse(text);
+            // Séries vêm como "2008–2013": vale o ano de início
+            case YEAR -> text.length() >= 4 ? NumericFormat.INTEGER.parse(text.substring(0, 4)) : MISSING;
+            case BOX_OFFICE -> NumericFormat.DOLLARS.parse(text);
+            case RELEVANCE -> MISSING;
+        };
+        return value == NumericFormat.UNPARSEABLE ? MISSING : value;
+    }
+
+    /**
+     * Descending by value, ascending by row on ties. Values are first replaced by their
+     * position among the distinct values so (value, row) packs into one long and the whole
+     * order is a single primitive sort.
+     */
+    private static int[] ranks(int size, IntToLongFunction valueOf) {
+        long[] values = new long[size];
+        for (int row = 0; row < size; row++) {
+            values[row] = valueOf.applyAsLong(row);
+        }
+        long[] distinct = Arrays.stream(values).sorted().distinct().toArray();
+
+        long[] packed = new long[size];
+        for (int row = 0; row < size; row++) {
+            int descending = distinct.length - 1 - Arrays.binarySearch(distinct, values[row]);
+            packed[row] = ((long) descending << 32) | row;
+        }
+        Arrays.sort(packed);
+
+        int[] rank = new int[size];
+        for (int position = 0; position < size; position++) {
+            rank[(int) packed[position]] = position;
+        }
+        return rank;
+    }
+
+    private static int[] invert(int[] rank) {
+        if (rank == null) {
+            return null;
+        }
+        int[] permutation = new int[rank.length];
+        for (int row = 0; row < rank.length; row++) {
+            permutation[rank[row]] = row;
+        }
+        return permutation;
+    }
+}
@@ -0,0 +1,40 @@
+package com.movieapp.catalog;
+
+import java.util.Locale;
+
+/**
+ * Result orders accepted by the search endpoint. Numeric orders are descending (best, most voted,
+ * newest, highest grossing first) with missing values last.
+ */
+public enum SortOrder {
+
+    /** Exact title match, then prefix, then substring, then fuzzy; ties by votes. */
+    RELEVANCE("relevance"),
+    RATING("rating"),
+    VOTES("votes"),
+    YEAR("year"),
+    BOX_OFFICE("boxOffice");
+
+    private final String param;
+
+    SortOrder(String param) {
+        this.param = param;
+    }
+
+    public String param() {
+        return param;
+    }
+
+    public static SortOrder fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return RELEVANCE;
+        }
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        for (SortOrder order : values()) {
+            if (order.param.toLowerCase(Locale.ROOT).equals(normalized)) {
+                return order;
+            }
+        }
+        throw new IllegalArgumentException("Unknown sort '" + value + "'");
+    }
+}
@@ -0,0 +1,342 @@
+package com.movieapp.catalog;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Typeahead over normalized titles and their word suffixes ("the dark knight", "dark knight",
+ * "knight"), as a radix trie in flat arrays. Edge labels point into the title strings instead
+ * of copying them, and every node keeps its subtree's best {@link #TOP_N} rows by votes in a
+ * shared pool, so a lookup walks the prefix once and reads a ready slice.
+ */
+public final class SuggestIndex {
+
+    public static final int TOP_N = 10;
+    /** Word starts indexed per title, beyond which suffixes are rarely typed. */
+    static final int MAX_SUFFIXES = 6;
+
+    private final String[] titles;
+    private final int[] labelRow;
+    private final int[] labelFrom;
+    private final int[] labelTo;
+    private final int[] childStart;
+    private final int[] childEnd;
+    private final int[] topStart;
+    private final int[] top;
+
+    SuggestIndex(String[] titles, int[] labelRow, int[] labelFrom, int[] labelTo,
+                 int[] childStart, int[] childEnd, int[] topStart, int[] top) {
+        this.titles = titles;
+        this.labelRow = labelRow;
+        this.labelFrom = labelFrom;
+        this.labelTo = labelTo;
+        this.childStart = childStart;
+        this.childEnd = childEnd;
+        this.topStart = topStart;
+        this.top = top;
+    }
+
+    /**
+     * @param titles normalized titles by row
+     * @param votesRank position of each row when ordered by votes, best first
+     */
+    public static SuggestIndex build(String[] titles, int[] votesRank) {
+        Builder builder = new Builder(titles, votesRank);
+        return builder.build();
+    }
+
+    int[][] arrays() {
+        return new int[][]{labelRow, labelFrom, labelTo, childStart, childEnd, topStart, top};
+    }
+
+    static SuggestIndex restore(String[] titles, int[][] arrays) {
+        return new SuggestIndex(titles, arrays[0], arrays[1], arrays[2], arrays[3], arrays[4], arrays[5], arrays[6]);
+    }
+
+    /**
+     * Feeds up to {@code limit} rows whose title, or one of its words onwards, starts with
+     * {@code prefix} (already normalized), most voted first. Returns how many were fed.
+     */
+    public int suggest(String prefix, int limit, IntConsumer rows) {
+        int node = 0;
+        int matched = 0;
+        while (matched < prefix.length()) {
+            node = child(node, prefix.charAt(matched));
+            if (node < 0) {
+                return 0;
+            }
+            String title = titles[labelRow[node]];
+            for (int i = labelFrom[node]; i < labelTo[node] && matched < prefix.length(); i++, matched++) {
+                if (title.charAt(i) != prefix.charAt(matched)) {
+                    return 0;
+                }
+            }
+        }
+        int end = Math.min(topStart[node + 1], topStart[node] + limit);
+        for (int i = topStart[node]; i < end; i++) {
+            rows.accept(top[i]);
+        }
+        return end - topStart[node];
+    }
+
+    private int child(int node, char c) {
+        int lo = childStart[node];
+        int hi = childEnd[node] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            char first = titles[labelRow[mid]].charAt(labelFrom[mid]);
+            if (first < c) {
+                lo = mid + 1;
+            } else if (first > c) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /** Word starts of a normalized title: position 0 and every letter or digit after a separator. */
+    static int wordStarts(String title, int[] starts) {
+        int count = 0;
+        for (int i = 0; i < title.length() && count < starts.length; i++) {
+            if (i == 0 || (Character.isLetterOrDigit(title.charAt(i)) && !Character.isLetterOrDigit(title.charAt(i - 1)))) {
+                starts[count++] = i;
+            }
+        }
+        return count;
+    }
+
+    private static final class Builder {
+        private final String[] titles;
+        private final int[] votesRank;
+        private long[] keys;
+
+        private int nodes;
+        private int[] labelRow = new int[1024];
+        private int[] labelFrom = new int[1024];
+        private int[] labelTo = new int[1024];
+        private int[] childStart = new int[1024];
+        private int[] childEnd = new int[1024];
+        private int[][] tops = new int[1024][];
+
+        Builder(String[] titles, int[] votesRank) {
+            this.titles = titles;
+            this.votesRank = votesRank;
+        }
+
+        SuggestIndex build() {
+            // Chave = (linha, início da palavra); o texto é lido do próprio título
+            int[] starts = new int[MAX_SUFFIXES];
+            long[] collected = new long[Math.max(titles.length, 16)];
+            int size = 0;
+            for (int row = 0; row < titles.length; row++) {
+                if (titles[row] == null || titles[row].isEmpty()) {
+                    continue;
+                }
+                int count = wordStarts(titles[row], starts);
+                for (int i = 0; i < count; i++) {
+                    if (size == collected.length) {
+                        collected = Arrays.copyOf(collected, size * 2);
+                    }
+                    collected[size++] = ((long) row << 32) | starts[i];
+                }
+            }
+            keys = Arrays.copyOf(collected, size);
+            sort(0, size, 0);
+
+            int root = allocate(1);
+            if (size > 0) {
+                node(root, 0, size, 0, true);
+            } else {
+                tops[root] = PostingLists.EMPTY;
+            }
+
+            int[] topStart = new int[nodes + 1];
+            int pool = 0;
+            for (int node = 0; node < nodes; node++) {
+                topStart[node] = pool;
+                pool += tops[node].length;
+            }
+            topStart[nodes] = pool;
+            int[] top = new int[pool];
+            for (int node = 0; node < nodes; node++) {
+                System.arraycopy(tops[node], 0, top, topStart[node], tops[node].length);
+            }
+            return new SuggestIndex(titles, Arrays.copyOf(labelRow, nodes), Arrays.copyOf(labelFrom, nodes),
+                    Arrays.copyOf(labelTo, nodes), Arrays.copyOf(childStart, nodes), Arrays.copyOf(childEnd, nodes),
+                    topStart, top);
+        }
+
+        /** Fills {@code node} for keys[lo, hi), which share their first {@code depth} characters. */
+        private void node(int node, int lo, int hi, int depth, boolean root) {
+            int common = root ? depth : depth + commonPrefix(keys[lo], keys[hi - 1], depth);
+            labelRow[node] = row(keys[lo]);
+            labelFrom[node] = offset(keys[lo]) + depth;
+            labelTo[node] = offset(keys[lo]) + common;
+
+            // Chaves que terminam aqui vêm primeiro na ordem
+            int terminal = lo;
+            while (terminal < hi && length(keys[terminal]) == common) {
+                terminal++;
+            }
+            int groups = 0;
+            for (int i = terminal; i < hi; i = groupEnd(i, hi, common)) {
+                groups++;
+            }
+            int first = allocate(groups);
+            childStart[node] = first;
+            childEnd[node] = first + groups;
+
+            int child = first;
+            for (int i = terminal; i < hi; ) {
+                int end = groupEnd(i, hi, common);
+                node(child++, i, end, common, false);
+                i = end;
+            }
+            tops[node] = best(node, lo, terminal, first, first + groups);
+        }
+
+        private int[] best(int node, int lo, int terminal, int firstChild, int endChild) {
+            int candidates = terminal - lo;
+            for (int child = firstChild; child < endChild; child++) {
+                candidates += tops[child].length;
+            }
+            long[] ranked = new long[candidates];
+            int n = 0;
+            for (int i = lo; i < terminal; i++) {
+                int row = row(keys[i]);
+                ranked[n++] = ((long) votesRank[row] << 32) | row;
+            }
+            for (int child = firstChild; child < endChild; child++) {
+                for (int row : tops[child]) {
+                    ranked[n++] = ((long) votesRank[row] << 32) | row;
+                }
+            }
+            Arrays.sort(ranked);
+            int[] best = new int[Math.min(TOP_N, candidates)];
+            int size = 0;
+            for (int i = 0; i < ranked.length && size < best.length; i++) {
+                // A mesma linha pode chegar por mais de um sufixo
+                if (i == 0 || ranked[i] != ranked[i - 1]) {
+                    best[size++] = (int) ranked[i];
+                }
+            }
+            return size == best.length ? best : Arrays.copyOf(best, size);
+        }
+
+        private int groupEnd(int from, int hi, int depth) {
+            char c = charAt(keys[from], depth);
+            int end = from + 1;
+            while (end < hi && charAt(keys[end], depth) == c) {
+                end++;
+            }
+            return end;
+        }
+
+        private int allocate(int count) {
+            int first = nodes;
+            nodes += count;
+            if (nodes > labelRow.length) {
+                int capacity = Math.max(nodes, labelRow.length * 2);
+                labelRow = Arrays.copyOf(labelRow, capacity);
+                labelFrom = Arrays.copyOf(labelFrom, capacity);
+                labelTo = Arrays.copyOf(labelTo, capacity);
+                childStart = Arrays.copyOf(childStart, capacity);
+                childEnd = Arrays.copyOf(childEnd, capacity);
+                tops = Arrays.copyOf(tops, capacity);
+            }
+            return first;
+        }
+
+        /**
+         * Multikey quicksort (Bentley-Sedgewick) of keys[lo, hi), equal in their first
+         * {@code depth} characters: partitions on one character at a time, so long shared
+         * prefixes are scanned once instead of once per comparison.
+         */
+        private void sort(int lo, int hi, int depth) {
+            while (hi - lo > 1) {
+                if (hi - lo < 16) {
+                    insertionSort(lo, hi, depth);
+                    return;
+                }
+                int pivot = charOrEnd(keys[(lo + hi) >>> 1], depth);
+                int lt = lo;
+                int gt = hi - 1;
+                int i = lo;
+                while (i <= gt) {
+                    int c = charOrEnd(keys[i], depth);
+                    if (c < pivot) {
+                        swap(lt++, i++);
+                    } else if (c > pivot) {
+                        swap(i, gt--);
+                    } else {
+                        i++;
+                    }
+                }
+                sort(lo, lt, depth);
+                sort(gt + 1, hi, depth);
+                if (pivot < 0) {
+                    return;
+                }
+                lo = lt;
+                hi = gt + 1;
+                depth++;
+            }
+        }
+
+        private void insertionSort(int lo, int hi, int depth) {
+            for (int i = lo + 1; i < hi; i++) {
+                for (int j = i; j > lo && compare(keys[j - 1], keys[j], depth) > 0; j--) {
+                    swap(j - 1, j);
+                }
+            }
+        }
+
+        private int compare(long a, long b, int depth) {
+            int length = Math.min(length(a), length(b));
+            for (int i = depth; i < length; i++) {
+                int diff = charAt(a, i) - charAt(b, i);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return length(a) - length(b);
+        }
+
+        private int charOrEnd(long key, int depth) {
+            return depth < length(key) ? charAt(key, depth) : -1;
+        }
+
+        private void swap(int i, int j) {
+            long key = keys[i];
+            keys[i] = keys[j];
+            keys[j] = key;
+        }
+
+        private int commonPrefix(long a, long b, int from) {
+            int length = Math.min(length(a), length(b));
+            int i = from;
+            while (i < length && charAt(a, i) == charAt(b, i)) {
+                i++;
+            }
+            return i - from;
+        }
+
+        private char charAt(long key, int depth) {
+            return titles[row(key)].charAt(offset(key) + depth);
+        }
+
+        private int length(long key) {
+            return titles[row(key)].length() - offset(key);
+        }
+
+        private static int row(long key) {
+            return (int) (key >>> 32);
+        }
+
+        private static int offset(long key) {
+            return (int) key;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.movieapp.catalog;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only byte storage split into buffers of at most {@code chunkSize} bytes, so the region
+ * can outgrow the 2 GB limit of a single {@link ByteBuffer}. An address packs the chunk index in
+ * the high 32 bits and the offset inside the chunk in the low 32 bits; a block never spans chunks.
+ * Reads use absolute operations only and are safe from any number of threads once writing is done.
+ */
+final class TextRegion {
+
+    static final int DEFAULT_CHUNK_SIZE = 64 * 1024 * 1024;
+
+    private final List<ByteBuffer> chunks;
+    private final int chunkSize;
+    private ByteBuffer tail;
+
+    TextRegion(int chunkSize) {
+        this.chunks = new ArrayList<>();
+        this.chunkSize = chunkSize;
+    }
+
+    TextRegion(List<ByteBuffer> chunks) {
+        this.chunks = new ArrayList<>(chunks);
+        this.chunkSize = 0;
+    }
+
+    long append(byte[] block, int length) {
+        if (tail == null || tail.remaining() < length) {
+            tail = ByteBuffer.allocateDirect(Math.max(chunkSize, length));
+            chunks.add(tail);
+        }
+        long address = ((long) (chunks.size() - 1) << 32) | tail.position();
+        tail.put(block, 0, length);
+        return address;
+    }
+
+    ByteBuffer chunk(long address) {
+        return chunks.get((int) (address >>> 32));
+    }
+
+    static int offset(long address) {
+        return (int) address;
+    }
+
+    int chunkCount() {
+        return chunks.size();
+    }
+
+    /** Read-only view of the bytes written to chunk {@code index}. */
+    ByteBuffer usedChunk(int index) {
+        ByteBuffer chunk = chunks.get(index).duplicate();
+        int used = chunkSize > 0 ? chunk.position() : chunk.limit();
+        return chunk.position(0).limit(used).slice().asReadOnlyBuffer();
+    }
+
+    long bytes() {
+        long bytes = 0;
+        for (ByteBuffer chunk : chunks) {
+            // Regiões em construção usam position; regiões mapeadas, o limit
+            bytes += chunkSize > 0 ? chunk.position() : chunk.limit();
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,119 @@
+package com.movieapp.catalog;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inverted n-gram index over lower-cased titles. Every 1-, 2- and 3-gram of a title
+ * maps to the ascending list of rows containing it, so a substring query only has to
+ * intersect the postings of its grams and verify the (few) surviving candidates.
+ */
+public final class TitleIndex {
+
+    static final int MAX_GRAM = 3;
+    /** Tier after {@link #tier}'s three, for rows that only matched with typos. */
+    public static final int FUZZY_TIER = 3;
+
+    private final String[] titles;
+    private final Map<Long, int[]> postings;
+
+    TitleIndex(String[] titles, Map<Long, int[]> postings) {
+        this.titles = titles;
+        this.postings = postings;
+    }
+
+    public static TitleIndex build(List<String> rawTitles) {
+        String[] titles = new String[rawTitles.size()];
+        Map<Long, IntArrayBuilder> builders = new HashMap<>();
+
+        for (int row = 0; row < titles.length; row++) {
+            String raw = rawTitles.get(row);
+            if (raw == null) {
+                continue;
+            }
+            String title = normalize(raw);
+            titles[row] = title;
+            for (int gram = 1; gram <= MAX_GRAM; gram++) {
+                for (int i = 0; i + gram <= title.length(); i++) {
+                    builders.computeIfAbsent(key(title, i, gram), k -> new IntArrayBuilder()).addDistinct(row);
+                }
+            }
+        }
+
+        Map<Long, int[]> postings = new HashMap<>(builders.size() * 4 / 3 + 1);
+        builders.forEach((key, builder) -> postings.put(key, builder.toArray()));
+        return new TitleIndex(titles, postings);
+    }
+
+    /**
+     * Rebuilds the index around titles and postings that were already computed, e.g. read from a
+     * snapshot; {@code titles} are the {@link #titles()} of the index that was saved.
+     */
+    static TitleIndex restore(String[] titles, Map<Long, int[]> postings) {
+        return new TitleIndex(titles, postings);
+    }
+
+    Map<Long, int[]> postings() {
+        return postings;
+    }
+
+    String[] titles() {
+        return titles;
+    }
+
+    public static String normalize(String title) {
+        return title.toLowerCase();
+    }
+
+    /**
+     * Iterates the rows whose title contains {@code query} (already normalized),
+     * or returns {@code null} when the query does not constrain the result.
+     */
+    public RowIterator search(String query) {
+        if (query.isEmpty()) {
+            return null;
+        }
+        if (query.length() <= MAX_GRAM) {
+            int[] rows = postings.get(key(query, 0, query.length()));
+            return rows != null ? RowIterator.of(rows) : RowIterator.empty();
+        }
+
+        List<RowIterator> grams = new ArrayList<>(query.length() - MAX_GRAM + 1);
+        for (int i = 0; i + MAX_GRAM <= query.length(); i++) {
+            int[] rows = postings.get(key(query, i, MAX_GRAM));
+            if (rows == null) {
+                return RowIterator.empty();
+            }
+            grams.add(RowIterator.of(rows));
+        }
+
+        // Os n-gramas só garantem candidatos; a posição relativa é conferida no título
+        return RowIterator.filter(RowIterator.and(grams), row -> titles[row].contains(query));
+    }
+
+    public boolean matches(int row, String query) {
+        return titles[row] != null && titles[row].contains(query);
+    }
+
+    /**
+     * Relevance tier of a row already known to contain {@code query}: 0 for an exact title,
+     * 1 for a prefix, 2 for any other substring.
+     */
+    public int tier(int row, String query) {
+        String title = titles[row];
+        if (!title.startsWith(query)) {
+            return 2;
+        }
+        return title.length() == query.length() ? 0 : 1;
+    }
+
+    private static long key(String s, int from, int length) {
+        long key = (long) length << 48;
+        for (int i = 0; i < length; i++) {
+            key |= (long) s.charAt(from + i) << (32 - 16 * i);
+        }
+        return key;
+    }
+}
@@ -0,0 +1,86 @@
+package com.movieapp.catalog;
+
+/**
+ * Keeps the {@code k} smallest (key, row) pairs seen, in a primitive binary max-heap,
+ * so a page can be selected from any number of matches in O(m log k) without boxing.
+ */
+public final class TopK {
+
+    private final int capacity;
+    private final long[] keys;
+    private final int[] rows;
+    private int size;
+
+    public TopK(int capacity) {
+        this.capacity = capacity;
+        this.keys = new long[Math.max(capacity, 1)];
+        this.rows = new int[Math.max(capacity, 1)];
+    }
+
+    public void offer(long key, int row) {
+        if (capacity == 0) {
+            return;
+        }
+        if (size < capacity) {
+            keys[size] = key;
+            rows[size] = row;
+            siftUp(size++);
+        } else if (key < keys[0]) {
+            keys[0] = key;
+            rows[0] = row;
+            siftDown(0);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Rows ordered by ascending key. Consumes the heap. */
+    public int[] drainSorted() {
+        int[] sorted = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            sorted[i] = rows[0];
+            size--;
+            keys[0] = keys[size];
+            rows[0] = rows[size];
+            siftDown(0);
+        }
+        return sorted;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[parent] >= keys[i]) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                return;
+            }
+            int largest = left + 1 < size && keys[left + 1] > keys[left] ? left + 1 : left;
+            if (keys[i] >= keys[largest]) {
+                return;
+            }
+            swap(i, largest);
+            i = largest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long key = keys[a];
+        keys[a] = keys[b];
+        keys[b] = key;
+        int row = rows[a];
+        rows[a] = rows[b];
+        rows[b] = row;
+    }
+}
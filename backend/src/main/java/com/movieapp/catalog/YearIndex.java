@@ -0,0 +1,46 @@
+package com.movieapp.catalog;
+
+/**
+ * The year each row starts with ("2006–2014" counts as 2006), as a column, so a year range
+ * narrows a short posting list row by row instead of merging every year's postings.
+ */
+final class YearIndex {
+
+    private static final short MISSING = -1;
+
+    private final short[] starts;
+
+    private YearIndex(short[] starts) {
+        this.starts = starts;
+    }
+
+    static YearIndex build(MovieStore store) {
+        short[] starts = new short[store.size()];
+        for (int row = 0; row < starts.length; row++) {
+            String year = store.year(row);
+            starts[row] = year == null ? MISSING : (short) startYear(year);
+        }
+        return new YearIndex(starts);
+    }
+
+    /** Rows of {@code rows} whose year starts within {@code [from, to]}. */
+    RowIterator between(RowIterator rows, int from, int to) {
+        return RowIterator.filter(rows, row -> starts[row] != MISSING && starts[row] >= from && starts[row] <= to);
+    }
+
+    /** The leading four-digit year of {@code value}, or {@code -1}. */
+    static int startYear(String value) {
+        if (value.length() < 4) {
+            return -1;
+        }
+        int year = 0;
+        for (int i = 0; i < 4; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            year = year * 10 + (c - '0');
+        }
+        return year;
+    }
+}
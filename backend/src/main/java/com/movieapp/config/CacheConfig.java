@@ -1,25 +1,187 @@
 package com.movieapp.config;
 
+import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.movieapp.service.DirectorySharedCacheStore;
+import com.movieapp.service.InMemorySharedCacheStore;
+import com.movieapp.service.InvalidationBus;
+import com.movieapp.service.MovieCatalogManager;
+import com.movieapp.service.MovieService;
+import com.movieapp.service.SharedCacheStore;
+import com.movieapp.service.TwoTierCache;
+import com.movieapp.service.UdpInvalidationBus;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
-import java.util.concurrent.TimeUnit;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * One Caffeine cache per response type, each with its own memory budget (weighed by
+ * {@link ResponseWeigher}), expiry and refresh-ahead. Refreshes reload through
+ * {@link MovieService#load}, so a hot entry is recomputed in the background while the
+ * previous value keeps being served.
+ *
+ * <p>With {@code movie.cache.l2.type} or {@code movie.cache.invalidation.port} set, each cache
+ * becomes a {@link TwoTierCache}: the Caffeine cache in front of a {@link SharedCacheStore},
+ * with evictions sent to the other instances over an {@link InvalidationBus}.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    @Value("${movie.cache.movie-search.max-size:32MB}")
+    private DataSize searchMaxSize;
+
+    @Value("${movie.cache.movie-search.expire-after-write:PT10M}")
+    private Duration searchExpireAfterWrite;
+
+    @Value("${movie.cache.movie-search.refresh-after-write:PT1M}")
+    private Duration searchRefreshAfterWrite;
+
+    @Value("${movie.cache.movie-detail.max-size:16MB}")
+    private DataSize detailMaxSize;
+
+    @Value("${movie.cache.movie-detail.expire-after-write:PT30M}")
+    private Duration detailExpireAfterWrite;
+
+    @Value("${movie.cache.movie-detail.refresh-after-write:PT5M}")
+    private Duration detailRefreshAfterWrite;
+
+    @Value("${movie.cache.all-movies.max-size:8MB}")
+    private DataSize allMoviesMaxSize;
+
+    @Value("${movie.cache.all-movies.expire-after-write:PT10M}")
+    private Duration allMoviesExpireAfterWrite;
+
+    @Value("${movie.cache.all-movies.refresh-after-write:PT1M}")
+    private Duration allMoviesRefreshAfterWrite;
+
+    @Value("${movie.cache.l2.type:none}")
+    private String sharedType;
+
+    @Value("${movie.cache.l2.path:}")
+    private String sharedPath;
+
+    @Value("${movie.cache.l2.max-size:128MB}")
+    private DataSize sharedMaxSize;
+
+    @Value("${movie.cache.l2.sweep-interval:PT5M}")
+    private Duration sharedSweepInterval;
+
+    @Value("${movie.cache.invalidation.port:0}")
+    private int invalidationPort;
+
+    @Value("${movie.cache.invalidation.peers:}")
+    private String invalidationPeers;
+
+    @Value("${movie.cache.invalidation.bind-address:}")
+    private String invalidationBindAddress;
+
+    @Value("${movie.cache.invalidation.secret:}")
+    private String invalidationSecret;
+
+    @Bean
+    public SharedCacheStore sharedCacheStore() {
+        return switch (sharedType.trim().toLowerCase(Locale.ROOT)) {
+            case "none", "" -> SharedCacheStore.NONE;
+            case "memory" -> new InMemorySharedCacheStore(sharedMaxSize.toBytes());
+            case "directory" -> {
+                if (sharedPath.isBlank()) {
+                    throw new IllegalStateException("movie.cache.l2.path must be set when movie.cache.l2.type=directory");
+                }
+                yield new DirectorySharedCacheStore(Path.of(sharedPath), sharedSweepInterval);
+            }
+            default -> throw new IllegalStateException("Unknown movie.cache.l2.type '" + sharedType + "'");
+        };
+    }
+
+    @Bean
+    public InvalidationBus invalidationBus() {
+        if (invalidationPort <= 0) {
+            return InvalidationBus.NONE;
+        }
+        if (invalidationSecret.isBlank()) {
+            throw new IllegalStateException("movie.cache.invalidation.secret must be set when movie.cache.invalidation.port is");
+        }
+        List<UdpInvalidationBus.Peer> peers = Arrays.stream(invalidationPeers.split(","))
+                .filter(peer -> !peer.isBlank())
+                .map(UdpInvalidationBus.Peer::parse)
+                .toList();
+        return new UdpInvalidationBus(invalidationBindAddress, invalidationPort, peers, invalidationSecret);
+    }
+
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager("movieSearch", "movieDetail", "allMovies");
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-                .maximumSize(1000)
-                .expireAfterWrite(5, TimeUnit.MINUTES)
-                .recordStats());
+    public CacheManager cacheManager(ObjectProvider<MovieService> movieService, MovieCatalogManager catalogs,
+                                     SharedCacheStore shared, InvalidationBus bus) {
+        boolean twoTier = shared != SharedCacheStore.NONE || bus != InvalidationBus.NONE;
+        Map<String, TwoTierCache> twoTierCaches = new ConcurrentHashMap<>();
+        Map<String, Duration> ttls = Map.of(
+                "movieSearch", searchExpireAfterWrite,
+                "movieDetail", detailExpireAfterWrite,
+                "allMovies", allMoviesExpireAfterWrite);
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(
+                    String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                if (!twoTier) {
+                    return super.adaptCaffeineCache(name, cache);
+                }
+                TwoTierCache adapted = new TwoTierCache(name, cache, shared, bus,
+                        ttls.getOrDefault(name, searchExpireAfterWrite), catalogs::version);
+                twoTierCaches.put(name, adapted);
+                return adapted;
+            }
+        };
+        cacheManager.registerCustomCache("movieSearch",
+                caffeine(searchMaxSize, searchExpireAfterWrite, searchRefreshAfterWrite)
+                        .build(loader(movieService, "movieSearch", twoTierCaches)));
+        cacheManager.registerCustomCache("movieDetail",
+                caffeine(detailMaxSize, detailExpireAfterWrite, detailRefreshAfterWrite)
+                        .build(loader(movieService, "movieDetail", twoTierCaches)));
+        cacheManager.registerCustomCache("allMovies",
+                caffeine(allMoviesMaxSize, allMoviesExpireAfterWrite, allMoviesRefreshAfterWrite)
+                        .build(loader(movieService, "allMovies", twoTierCaches)));
         return cacheManager;
     }
+
+    private static CacheLoader<Object, Object> loader(ObjectProvider<MovieService> movieService, String name,
+                                                      Map<String, TwoTierCache> twoTierCaches) {
+        return new CacheLoader<>() {
+            @Override
+            public Object load(Object key) {
+                // O serviço depende do proxy de cache: resolvido só na primeira recarga
+                return movieService.getObject().load(key);
+            }
+
+            @Override
+            public Object reload(Object key, Object oldValue) throws Exception {
+                // O refresh-ahead acontece só no primeiro nível; o valor novo também vai para o segundo
+                TwoTierCache cache = twoTierCaches.get(name);
+                return cache != null ? cache.reload(key, () -> load(key)) : load(key);
+            }
+        };
+    }
+
+    private static Caffeine<Object, Object> caffeine(DataSize maxSize, Duration expireAfterWrite,
+                                                     Duration refreshAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher(new ResponseWeigher())
+                .expireAfterWrite(expireAfterWrite)
+                .refreshAfterWrite(refreshAfterWrite)
+                .recordStats();
+    }
 }
@@ -0,0 +1,38 @@
+package com.movieapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.movieapp.catalog.FileMovieCatalogSource;
+import com.movieapp.catalog.MockMovieCatalogSource;
+import com.movieapp.catalog.MovieCatalogSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+@Configuration
+public class CatalogConfig {
+
+    @Value("${movie.catalog.source:mock}")
+    private String source;
+
+    @Value("${movie.catalog.path:}")
+    private String path;
+
+    @Value("${movie.catalog.format:jsonl}")
+    private String format;
+
+    @Bean
+    public MovieCatalogSource movieCatalogSource(ObjectMapper objectMapper) {
+        if ("file".equalsIgnoreCase(source)) {
+            if (path.isBlank()) {
+                throw new IllegalStateException("movie.catalog.path must be set when movie.catalog.source=file");
+            }
+            FileMovieCatalogSource.Format fileFormat =
+                    FileMovieCatalogSource.Format.valueOf(format.toUpperCase(Locale.ROOT));
+            return new FileMovieCatalogSource(Path.of(path), fileFormat, objectMapper);
+        }
+        return new MockMovieCatalogSource();
+    }
+}
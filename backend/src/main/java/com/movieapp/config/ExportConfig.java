@@ -0,0 +1,39 @@
+package com.movieapp.config;
+
+import com.movieapp.service.MovieExportService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Gives streaming exports their own async timeout: {@code spring.mvc.async.request-timeout}
+ * suits the other endpoints but would cut a full catalog export short.
+ */
+@Configuration
+public class ExportConfig implements WebMvcConfigurer {
+
+    @Value("${movie.export.timeout:PT30M}")
+    private Duration timeout;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                // Ainda antes do startAsync: o timeout só pode mudar aqui
+                if (request.getAttribute(MovieExportService.STREAMING, RequestAttributes.SCOPE_REQUEST) != null
+                        && request instanceof AsyncWebRequest async) {
+                    async.setTimeout(timeout.toMillis());
+                }
+            }
+        });
+    }
+}
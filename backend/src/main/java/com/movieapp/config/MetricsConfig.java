@@ -0,0 +1,76 @@
+package com.movieapp.config;
+
+import com.movieapp.service.CircuitBreaker;
+import com.movieapp.service.OmdbClient;
+import com.movieapp.service.RateLimiter;
+import com.movieapp.service.SerializedResponseCache;
+import com.movieapp.service.TwoTierCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Meters for the components Spring Boot does not instrument on its own. The three object caches
+ * are bound by Boot's cache metrics, since they are registered in the {@code CacheManager}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder serializedResponseCacheMetrics(SerializedResponseCache responses) {
+        // Mesmas chaves de tag que o Boot usa nos outros caches, senão o Prometheus descarta a série
+        return registry -> CaffeineCacheMetrics.monitor(registry, responses.nativeCache(), "serializedResponses",
+                "cache.manager", "serializedResponseCache", "name", "serializedResponses");
+    }
+
+    @Bean
+    public MeterBinder upstreamMetrics(OmdbClient upstream) {
+        return registry -> {
+            Gauge.builder("movie.upstream.in.flight", upstream, OmdbClient::inFlightCalls)
+                    .description("Upstream calls holding a bulkhead permit")
+                    .register(registry);
+            Gauge.builder("movie.upstream.circuit.open", upstream,
+                            client -> client.circuitState() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                    .description("1 while the upstream circuit breaker is open or half-open")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder rateLimitMetrics(ObjectProvider<RateLimiter> rateLimiter) {
+        return registry -> rateLimiter.ifAvailable(limiter ->
+                Gauge.builder("movie.rate.limit.clients", limiter, RateLimiter::trackedClients)
+                        .description("Clients with a token bucket")
+                        .register(registry));
+    }
+
+    @Bean
+    public MeterBinder sharedCacheMetrics(CacheManager cacheManager) {
+        return registry -> {
+            for (String name : cacheManager.getCacheNames()) {
+                if (cacheManager.getCache(name) instanceof TwoTierCache cache) {
+                    sharedCounter(registry, cache, "hit", TwoTierCache::sharedHits);
+                    sharedCounter(registry, cache, "miss", TwoTierCache::sharedMisses);
+                    sharedCounter(registry, cache, "error", TwoTierCache::sharedErrors);
+                }
+            }
+        };
+    }
+
+    private static void sharedCounter(MeterRegistry registry, TwoTierCache cache,
+                                      String result, ToDoubleFunction<TwoTierCache> count) {
+        FunctionCounter.builder("movie.cache.l2.requests", cache, count)
+                .description("Shared (second tier) cache lookups after a local miss")
+                .tag("name", cache.getName())
+                .tag("result", result)
+                .register(registry);
+    }
+}
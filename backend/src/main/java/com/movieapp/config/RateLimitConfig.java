@@ -0,0 +1,43 @@
+package com.movieapp.config;
+
+import com.movieapp.service.RateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Applies {@code rate-limit.requests-per-minute} to the movie endpoints, synchronous and async,
+ * and to the people endpoints.
+ */
+@Configuration
+@ConditionalOnProperty(name = "rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Value("${rate-limit.requests-per-minute:100}")
+    private int requestsPerMinute;
+
+    /** Requests a client may send at once after being idle; defaults to a minute's worth. */
+    @Value("${rate-limit.burst:0}")
+    private int burst;
+
+    @Value("${rate-limit.max-clients:100000}")
+    private long maxClients;
+
+    @Value("${rate-limit.trust-forwarded-for:false}")
+    private boolean trustForwardedFor;
+
+    @Bean
+    public RateLimiter rateLimiter() {
+        return new RateLimiter(requestsPerMinute, burst > 0 ? burst : requestsPerMinute, maxClients);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimiter rateLimiter) {
+        FilterRegistrationBean<RateLimitFilter> registration =
+                new FilterRegistrationBean<>(new RateLimitFilter(rateLimiter, requestsPerMinute, trustForwardedFor));
+        registration.addUrlPatterns("/api/movies/*", "/api/async/movies/*", "/api/people/*");
+        return registration;
+    }
+}
@@ -0,0 +1,70 @@
+package com.movieapp.config;
+
+import com.movieapp.service.RateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Throttles each client (remote address, or the first {@code X-Forwarded-For} hop when the
+ * proxy is trusted) with a {@link RateLimiter}. Refused requests get 429 with
+ * {@code Retry-After} and never reach the controllers.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final byte[] TOO_MANY_REQUESTS =
+            "{\"Response\":\"False\",\"Error\":\"Too many requests\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final RateLimiter limiter;
+    private final String limit;
+    private final boolean trustForwardedFor;
+
+    public RateLimitFilter(RateLimiter limiter, int requestsPerMinute, boolean trustForwardedFor) {
+        this.limiter = limiter;
+        this.limit = Integer.toString(requestsPerMinute);
+        this.trustForwardedFor = trustForwardedFor;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Preflight de CORS não conta
+        return "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long result = limiter.tryAcquire(client(request));
+        response.setHeader("X-RateLimit-Limit", limit);
+        if (result >= 0) {
+            response.setHeader("X-RateLimit-Remaining", Long.toString(result));
+            chain.doFilter(request, response);
+            return;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("X-RateLimit-Remaining", "0");
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString((-result + 999) / 1000));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(TOO_MANY_REQUESTS.length);
+        response.getOutputStream().write(TOO_MANY_REQUESTS);
+    }
+
+    private String client(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                int comma = forwarded.indexOf(',');
+                return (comma < 0 ? forwarded : forwarded.substring(0, comma)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,30 @@
+package com.movieapp.config;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.movieapp.catalog.HeapFootprint;
+import com.movieapp.dto.MovieDetailDto;
+import com.movieapp.dto.SearchResponseDto;
+
+/**
+ * Weighs cache entries by the estimated heap bytes of the cached response, so cache limits
+ * are memory budgets: one page of search results and one full movie detail no longer count
+ * the same.
+ */
+public class ResponseWeigher implements Weigher<Object, Object> {
+
+    private static final int MIN_WEIGHT = 16;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        long bytes;
+        if (value instanceof SearchResponseDto response) {
+            bytes = HeapFootprint.of(response);
+        } else if (value instanceof MovieDetailDto movie) {
+            bytes = HeapFootprint.of(movie);
+        } else {
+            // NullValue de um filme inexistente
+            bytes = MIN_WEIGHT;
+        }
+        return (int) Math.min(Math.max(bytes, MIN_WEIGHT), Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,72 @@
+package com.movieapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.movieapp.catalog.FileMovieCatalogSource;
+import com.movieapp.catalog.MockMovieCatalogSource;
+import com.movieapp.catalog.MovieCatalogSource;
+import com.movieapp.service.CircuitBreaker;
+import com.movieapp.service.OmdbClient;
+import com.movieapp.service.OmdbStubServer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * The OMDb-compatible upstream. Disabled unless {@code movie.upstream.base-url} is set or the
+ * in-process stub is turned on, in which case the client points at the stub.
+ */
+@Configuration
+public class UpstreamConfig {
+
+    @Value("${movie.upstream.base-url:}")
+    private String baseUrl;
+
+    @Value("${movie.upstream.api-key:}")
+    private String apiKey;
+
+    @Value("${movie.upstream.connect-timeout:PT1S}")
+    private Duration connectTimeout;
+
+    @Value("${movie.upstream.request-timeout:PT2S}")
+    private Duration requestTimeout;
+
+    @Value("${movie.upstream.max-concurrent:32}")
+    private int maxConcurrent;
+
+    @Value("${movie.upstream.circuit.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${movie.upstream.circuit.open-duration:PT30S}")
+    private Duration openDuration;
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "movie.upstream.stub.enabled", havingValue = "true")
+    public OmdbStubServer omdbStubServer(ObjectMapper objectMapper,
+                                         @Value("${movie.upstream.stub.path:}") String path,
+                                         @Value("${movie.upstream.stub.latency:PT0S}") Duration latency,
+                                         @Value("${movie.upstream.stub.failure-rate:0}") double failureRate)
+            throws IOException {
+        MovieCatalogSource source = path.isBlank()
+                ? new MockMovieCatalogSource()
+                : new FileMovieCatalogSource(Path.of(path), FileMovieCatalogSource.Format.JSONL, objectMapper);
+        return new OmdbStubServer(source, objectMapper, latency, failureRate);
+    }
+
+    @Bean
+    public OmdbClient omdbClient(ObjectMapper objectMapper, Optional<OmdbStubServer> stub) {
+        URI uri = stub.map(OmdbStubServer::baseUrl)
+                .orElse(baseUrl.isBlank() ? null : URI.create(baseUrl));
+        if (uri == null) {
+            return OmdbClient.disabled();
+        }
+        return new OmdbClient(uri, apiKey, connectTimeout, requestTimeout, maxConcurrent,
+                new CircuitBreaker(failureThreshold, openDuration), objectMapper);
+    }
+}
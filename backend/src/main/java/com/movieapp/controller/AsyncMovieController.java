@@ -0,0 +1,145 @@
+package com.movieapp.controller;
+
+import com.movieapp.dto.SearchResponseDto;
+import com.movieapp.dto.SuggestionDto;
+import com.movieapp.service.IndexNotReadyException;
+import com.movieapp.service.UpstreamUnavailableException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * The {@link MovieController} endpoints with a {@link CompletableFuture} return path: the
+ * Tomcat thread is released as soon as the work is handed to {@code applicationTaskExecutor},
+ * a bounded platform pool by default or one virtual thread per task with
+ * {@code spring.threads.virtual.enabled=true} on Java 21.
+ */
+@RestController
+@RequestMapping("/api/async/movies")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"})
+@Tag(name = "Movies (async)", description = "Movie API endpoints completed off the request thread")
+public class AsyncMovieController {
+
+    private final MovieController movies;
+    private final AsyncTaskExecutor executor;
+
+    public AsyncMovieController(MovieController movies,
+                                @Qualifier("applicationTaskExecutor") AsyncTaskExecutor executor) {
+        this.movies = movies;
+        this.executor = executor;
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search movies", description = "Same as /api/movies/search, completed asynchronously")
+    public CompletableFuture<ResponseEntity<?>> searchMovies(
+            @Parameter(description = "Movie title to search for", required = true)
+            @RequestParam String s,
+
+            @Parameter(description = "Year of release")
+            @RequestParam(required = false) String y,
+
+            @Parameter(description = "Type of result (movie/series)")
+            @RequestParam(required = false) String type,
+
+            @Parameter(description = "Page number (default: 1)")
+            @RequestParam(defaultValue = "1") int page,
+
+            @Parameter(description = "Plot length (short/full)")
+            @RequestParam(defaultValue = "short") String plot,
+
+            @Parameter(description = "Also match title words within this many typos (0, 1 or 2)")
+            @RequestParam(defaultValue = "0") int fuzzy,
+
+            @Parameter(description = "Order: relevance, rating, votes, year or boxOffice")
+            @RequestParam(defaultValue = "relevance") String sort,
+
+            @Parameter(description = "Opaque cursor from a previous response's 'next'; takes precedence over page")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Also return match counts by type, decade, genre and rated")
+            @RequestParam(defaultValue = "false") boolean facets,
+
+            WebRequest request) {
+
+        return async(() -> movies.searchMovies(s, y, type, page, plot, fuzzy, sort, cursor, facets, request));
+    }
+
+    @GetMapping("/all")
+    @Operation(summary = "Get all movies", description = "Same as /api/movies/all, completed asynchronously")
+    public CompletableFuture<ResponseEntity<?>> getAllMovies(
+            @Parameter(description = "Page number (default: 1)")
+            @RequestParam(defaultValue = "1") int page,
+
+            @Parameter(description = "Opaque cursor from a previous response's 'next'; takes precedence over page")
+            @RequestParam(required = false) String cursor,
+
+            WebRequest request) {
+
+        return async(() -> movies.getAllMovies(page, cursor, request));
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest titles", description = "Same as /api/movies/suggest, completed asynchronously")
+    public CompletableFuture<ResponseEntity<List<SuggestionDto>>> suggest(
+            @Parameter(description = "Typed prefix", required = true)
+            @RequestParam String q,
+
+            @Parameter(description = "Maximum suggestions (1-10, default: 10)")
+            @RequestParam(defaultValue = "10") int limit) {
+
+        return CompletableFuture.supplyAsync(() -> movies.suggest(q, limit), executor);
+    }
+
+    @GetMapping("/{imdbId}")
+    @Operation(summary = "Get movie details", description = "Same as /api/movies/{imdbId}, completed asynchronously")
+    public CompletableFuture<ResponseEntity<?>> getMovieById(
+            @Parameter(description = "IMDb ID of the movie", required = true)
+            @PathVariable String imdbId,
+
+            @Parameter(description = "Plot length (short/full)")
+            @RequestParam(defaultValue = "short") String plot,
+
+            WebRequest request) {
+
+        return async(() -> movies.getMovieById(imdbId, plot, request));
+    }
+
+    @GetMapping("/{imdbId}/similar")
+    @Operation(summary = "Similar titles", description = "Same as /api/movies/{imdbId}/similar, completed asynchronously")
+    public CompletableFuture<ResponseEntity<SearchResponseDto>> getSimilarMovies(
+            @Parameter(description = "IMDb ID of the movie", required = true)
+            @PathVariable String imdbId) {
+
+        return CompletableFuture.supplyAsync(() -> movies.getSimilarMovies(imdbId), executor);
+    }
+
+    private CompletableFuture<ResponseEntity<?>> async(Supplier<ResponseEntity<?>> handler) {
+        return CompletableFuture.supplyAsync(handler, executor);
+    }
+
+    // O Spring desembrulha a CompletionException antes de procurar o handler
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> badRequest(IllegalArgumentException e) {
+        return movies.badRequest(e);
+    }
+
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    public ResponseEntity<Map<String, String>> upstreamUnavailable(UpstreamUnavailableException e) {
+        return movies.upstreamUnavailable(e);
+    }
+
+    @ExceptionHandler(IndexNotReadyException.class)
+    public ResponseEntity<Map<String, String>> indexNotReady(IndexNotReadyException e) {
+        return movies.indexNotReady(e);
+    }
+}
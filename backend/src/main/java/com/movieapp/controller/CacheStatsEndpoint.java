@@ -0,0 +1,77 @@
+package com.movieapp.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.movieapp.service.SerializedResponseCache;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Component
+@Endpoint(id = "cachestats")
+public class CacheStatsEndpoint {
+
+    static final String SERIALIZED_RESPONSES = "serializedResponses";
+
+    private final CacheManager cacheManager;
+    private final SerializedResponseCache responses;
+
+    public CacheStatsEndpoint(CacheManager cacheManager, SerializedResponseCache responses) {
+        this.cacheManager = cacheManager;
+        this.responses = responses;
+    }
+
+    @ReadOperation
+    public Map<String, Object> caches() {
+        Map<String, Object> caches = new TreeMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Map<String, Object> stats = stats(name);
+            if (stats != null) {
+                caches.put(name, stats);
+            }
+        }
+        if (responses.enabled()) {
+            caches.put(SERIALIZED_RESPONSES, stats(responses.nativeCache()));
+        }
+        return caches;
+    }
+
+    @ReadOperation
+    public Map<String, Object> cache(@Selector String name) {
+        return stats(name);
+    }
+
+    private Map<String, Object> stats(String name) {
+        if (SERIALIZED_RESPONSES.equals(name)) {
+            return responses.enabled() ? stats(responses.nativeCache()) : null;
+        }
+        Cache cache = cacheManager.getCache(name);
+        return cache instanceof CaffeineCache caffeineCache ? stats(caffeineCache.getNativeCache()) : null;
+    }
+
+    private static Map<String, Object> stats(com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+        CacheStats stats = nativeCache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("loadSuccessCount", stats.loadSuccessCount());
+        result.put("loadFailureCount", stats.loadFailureCount());
+        result.put("averageLoadPenaltyMillis", stats.averageLoadPenalty() / 1e6);
+        result.put("evictionCount", stats.evictionCount());
+        result.put("evictionWeight", stats.evictionWeight());
+        result.put("estimatedSize", nativeCache.estimatedSize());
+        nativeCache.policy().eviction().ifPresent(eviction -> {
+            eviction.weightedSize().ifPresent(weight -> result.put("weightedSizeBytes", weight));
+            result.put("maximumWeightBytes", eviction.getMaximum());
+        });
+        return result;
+    }
+}
@@ -0,0 +1,40 @@
+package com.movieapp.controller;
+
+import com.movieapp.catalog.CatalogDiff;
+import com.movieapp.service.MovieCatalogManager;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Size of the loaded catalog, and a reload on POST. Not authenticated, so it is left out of the
+ * default web exposure; expose it only on an internal management port.
+ */
+@Component
+@Endpoint(id = "catalog")
+public class CatalogEndpoint {
+
+    private final MovieCatalogManager catalogs;
+
+    public CatalogEndpoint(MovieCatalogManager catalogs) {
+        this.catalogs = catalogs;
+    }
+
+    @ReadOperation
+    public Map<String, Object> catalog() {
+        return Map.of("size", catalogs.current().size());
+    }
+
+    @WriteOperation
+    public Map<String, Object> reload() throws IOException {
+        CatalogDiff diff = catalogs.reload();
+        return Map.of(
+                "size", catalogs.current().size(),
+                "changedIds", diff.changedIds().size(),
+                "firstChangedRow", diff.firstChangedRow());
+    }
+}
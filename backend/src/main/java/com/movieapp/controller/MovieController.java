@@ -1,15 +1,45 @@
 package com.movieapp.controller;
 
+import com.movieapp.catalog.MovieQuery;
+import com.movieapp.catalog.SortOrder;
+import com.movieapp.dto.BatchResponseDto;
 import com.movieapp.dto.MovieDetailDto;
 import com.movieapp.dto.SearchResponseDto;
+import com.movieapp.dto.SuggestionDto;
+import com.movieapp.service.DetailKey;
+import com.movieapp.service.IndexNotReadyException;
+import com.movieapp.service.MovieBatchService;
+import com.movieapp.service.MovieExportService;
+import com.movieapp.service.MovieMetrics;
 import com.movieapp.service.MovieService;
+import com.movieapp.service.Plot;
+import com.movieapp.service.QueryLog;
+import com.movieapp.service.SearchKey;
+import com.movieapp.service.SerializedResponse;
+import com.movieapp.service.SerializedResponseCache;
+import com.movieapp.service.SimilarMoviesService;
+import com.movieapp.service.UpstreamUnavailableException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.DisconnectedClientHelper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/movies")
@@ -17,13 +47,35 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Movies", description = "Movie API endpoints")
 public class MovieController {
 
+    private static final Logger log = LoggerFactory.getLogger(MovieController.class);
+    private static final DisconnectedClientHelper DISCONNECTED_CLIENTS =
+            new DisconnectedClientHelper(MovieController.class.getName() + ".disconnected");
+
     @Autowired
     private MovieService movieService;
 
+    @Autowired
+    private MovieBatchService batchService;
+
+    @Autowired
+    private SimilarMoviesService similarMovies;
+
+    @Autowired
+    private MovieExportService exportService;
+
+    @Autowired
+    private QueryLog queryLog;
+
+    @Autowired
+    private SerializedResponseCache responses;
+
+    @Autowired
+    private MovieMetrics metrics;
+
     @GetMapping("/search")
-    @Operation(summary = "Search movies", description = "Search for movies by title with optional filters")
+    @Operation(summary = "Search movies", description = "Search for movies by title with optional filters, ranked by relevance or sorted")
     @ApiResponse(responseCode = "200", description = "Search results returned successfully")
-    public ResponseEntity<SearchResponseDto> searchMovies(
+    public ResponseEntity<?> searchMovies(
             @Parameter(description = "Movie title to search for", required = true)
             @RequestParam String s,
             
@@ -37,36 +89,268 @@ public class MovieController {
             @RequestParam(defaultValue = "1") int page,
             
             @Parameter(description = "Plot length (short/full)")
-            @RequestParam(defaultValue = "short") String plot) {
+            @RequestParam(defaultValue = "short") String plot,
+
+            @Parameter(description = "Also match title words within this many typos (0, 1 or 2)")
+            @RequestParam(defaultValue = "0") int fuzzy,
+
+            @Parameter(description = "Order: relevance (exact, prefix, substring, then fuzzy title match), rating, votes, year or boxOffice")
+            @RequestParam(defaultValue = "relevance") String sort,
+
+            @Parameter(description = "Opaque cursor from a previous response's 'next'; takes precedence over page")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Also return match counts by type, decade, genre and rated")
+            @RequestParam(defaultValue = "false") boolean facets,
+
+            WebRequest request) {
         
-        SearchResponseDto response = movieService.searchMovies(s, y, type, page);
-        return ResponseEntity.ok(response);
+        MovieQuery query = new MovieQuery(s, y, type, fuzzy);
+        SortOrder order = SortOrder.fromParam(sort);
+        if (cursor != null) {
+            return ResponseEntity.ok(movieService.searchMoviesAfter(query, order, cursor, facets));
+        }
+        SearchKey key = new SearchKey(query.normalized(), order, page, facets);
+        if (responses.enabled()) {
+            return recorded("movieSearch", key,
+                    serialized("movieSearch", key, () -> movieService.searchMovies(query, order, page, facets), request));
+        }
+        return recorded("movieSearch", key, ResponseEntity.ok(movieService.searchMovies(query, order, page, facets)));
     }
 
     @GetMapping("/all")
     @Operation(summary = "Get all movies", description = "Get all movies with pagination")
     @ApiResponse(responseCode = "200", description = "Movies returned successfully")
-    public ResponseEntity<SearchResponseDto> getAllMovies(
+    public ResponseEntity<?> getAllMovies(
             @Parameter(description = "Page number (default: 1)")
-            @RequestParam(defaultValue = "1") int page) {
+            @RequestParam(defaultValue = "1") int page,
+
+            @Parameter(description = "Opaque cursor from a previous response's 'next'; takes precedence over page")
+            @RequestParam(required = false) String cursor,
+
+            WebRequest request) {
         
-        SearchResponseDto response = movieService.getAllMovies(page);
-        return ResponseEntity.ok(response);
+        if (cursor != null) {
+            return ResponseEntity.ok(movieService.getAllMoviesAfter(cursor));
+        }
+        if (responses.enabled()) {
+            return recorded("allMovies", page, serialized("allMovies", page, () -> movieService.getAllMovies(page), request));
+        }
+        return recorded("allMovies", page, ResponseEntity.ok(movieService.getAllMovies(page)));
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest titles", description = "Typeahead: titles with a word starting with the typed prefix, most voted first")
+    @ApiResponse(responseCode = "200", description = "Suggestions returned successfully")
+    public ResponseEntity<List<SuggestionDto>> suggest(
+            @Parameter(description = "Typed prefix", required = true)
+            @RequestParam String q,
+
+            @Parameter(description = "Maximum suggestions (1-10, default: 10)")
+            @RequestParam(defaultValue = "10") int limit) {
+
+        return ResponseEntity.ok(movieService.suggest(q, limit));
+    }
+
+    @GetMapping(value = "/export", produces = MovieExportService.NDJSON)
+    @Operation(summary = "Export movies", description = "Every movie matching the optional filters, in catalog order, as newline-delimited JSON streamed in one response")
+    @ApiResponse(responseCode = "200", description = "One movie detail object per line")
+    public ResponseEntity<StreamingResponseBody> exportMovies(
+            @Parameter(description = "Movie title to filter by (all titles if omitted)")
+            @RequestParam(required = false) String s,
+
+            @Parameter(description = "Year of release")
+            @RequestParam(required = false) String y,
+
+            @Parameter(description = "Type of result (movie/series)")
+            @RequestParam(required = false) String type,
+
+            @Parameter(description = "Also match title words within this many typos (0, 1 or 2)")
+            @RequestParam(defaultValue = "0") int fuzzy,
+
+            WebRequest request) {
+
+        MovieExportService.Export export = exportService.export(new MovieQuery(s, y, type, fuzzy));
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        request.setAttribute(MovieExportService.STREAMING, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(MovieExportService.NDJSON))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            ok.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return ok.body(out -> export.writeTo(out, gzip));
+    }
+
+    @GetMapping("/batch")
+    @Operation(summary = "Get many movie details", description = "Details for a comma-separated list of IMDb IDs, in request order")
+    @ApiResponse(responseCode = "200", description = "One result per ID; missing ones have Response=False")
+    @ApiResponse(responseCode = "400", description = "No IDs or more than the maximum batch size")
+    public ResponseEntity<BatchResponseDto> getMoviesByIds(
+            @Parameter(description = "Comma-separated IMDb IDs", required = true)
+            @RequestParam List<String> ids) {
+
+        return ResponseEntity.ok(batchService.getMoviesByIds(ids));
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Get many movie details", description = "Details for a JSON array of IMDb IDs, in request order")
+    @ApiResponse(responseCode = "200", description = "One result per ID; missing ones have Response=False")
+    @ApiResponse(responseCode = "400", description = "No IDs or more than the maximum batch size")
+    public ResponseEntity<BatchResponseDto> postMoviesByIds(@RequestBody List<String> ids) {
+        return ResponseEntity.ok(batchService.getMoviesByIds(ids));
     }
 
     @GetMapping("/{imdbId}")
     @Operation(summary = "Get movie details", description = "Get detailed information about a specific movie")
     @ApiResponse(responseCode = "200", description = "Movie details returned successfully")
     @ApiResponse(responseCode = "404", description = "Movie not found")
-    public ResponseEntity<MovieDetailDto> getMovieById(
+    @ApiResponse(responseCode = "503", description = "Movie not in the catalog and the upstream provider is unavailable")
+    public ResponseEntity<?> getMovieById(
             @Parameter(description = "IMDb ID of the movie", required = true)
             @PathVariable String imdbId,
             
             @Parameter(description = "Plot length (short/full)")
-            @RequestParam(defaultValue = "short") String plot) {
+            @RequestParam(defaultValue = "short") String plot,
+
+            WebRequest request) {
         
-        return movieService.getMovieById(imdbId)
+        Plot length = Plot.fromParam(plot);
+        try {
+            return detail(imdbId, length, request);
+        } catch (UpstreamUnavailableException e) {
+            if (length != Plot.FULL) {
+                throw e;
+            }
+            // Sem o provedor, a sinopse curta do catálogo, guardada só sob a chave SHORT
+            return detail(imdbId, Plot.SHORT, request);
+        }
+    }
+
+    private ResponseEntity<?> detail(String imdbId, Plot length, WebRequest request) {
+        DetailKey key = new DetailKey(imdbId, length);
+        if (responses.enabled()) {
+            return recorded("movieDetail", key, serialized("movieDetail", key,
+                    () -> movieService.getMovieById(imdbId, length).orElse(null), request));
+        }
+        return recorded("movieDetail", key, movieService.getMovieById(imdbId, length)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build()));
+    }
+
+    @GetMapping("/{imdbId}/similar")
+    @Operation(summary = "Similar titles", description = "Titles sharing genres, director, cast, writers, language and country, most similar first")
+    @ApiResponse(responseCode = "200", description = "Similar titles returned successfully")
+    @ApiResponse(responseCode = "404", description = "Movie not found")
+    @ApiResponse(responseCode = "503", description = "Similar titles are still being computed")
+    public ResponseEntity<SearchResponseDto> getSimilarMovies(
+            @Parameter(description = "IMDb ID of the movie", required = true)
+            @PathVariable String imdbId) {
+
+        return similarMovies.similar(imdbId)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    /**
+     * Counts {@code key} for the cache warm-up once it produced a response ({@code null} is a
+     * 304), so invalid pages and unknown ids are never persisted and replayed.
+     */
+    private ResponseEntity<?> recorded(String cache, Object key, ResponseEntity<?> response) {
+        if (response == null || response.getStatusCode().is2xxSuccessful()) {
+            queryLog.record(cache, key);
+        }
+        return response;
+    }
+
+    /**
+     * Writes the cached JSON (or gzip) bytes of a response. A revalidation whose ETag matches a
+     * cached entry is answered with 304 before the service is called at all.
+     */
+    private ResponseEntity<?> serialized(String cache, Object key, Supplier<?> body, WebRequest request) {
+        boolean acceptsGzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        SerializedResponse response = responses.getIfPresent(cache, key);
+        if (response != null && request.checkNotModified(revalidatedEtag(response, acceptsGzip, request))) {
+            return null;
+        }
+        if (response == null) {
+            response = responses.get(cache, key, body);
+            if (response == null) {
+                return ResponseEntity.notFound().build();
+            }
+        }
+        boolean gzip = response.gzip() != null && acceptsGzip;
+        // Um If-None-Match que casar aqui ainda vira 304 no processamento do ResponseEntity
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .eTag(gzip ? response.gzipEtag() : response.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            metrics.recordResponseSize(cache, true, response.gzip().length);
+            return ok.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(response.gzip());
+        }
+        metrics.recordResponseSize(cache, false, response.json().length);
+        return ok.body(response.json());
+    }
+
+    /**
+     * The tag to revalidate against: the one of the encoding this request would get, unless the
+     * client only holds the other one. Both name the same JSON, so either is still fresh, and the
+     * 304 then carries the tag the client actually has.
+     */
+    private static String revalidatedEtag(SerializedResponse response, boolean acceptsGzip, WebRequest request) {
+        boolean gzip = response.gzip() != null && acceptsGzip;
+        String etag = gzip ? response.gzipEtag() : response.etag();
+        String other = gzip ? response.etag() : response.gzipEtag();
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && !ifNoneMatch.contains(etag) && ifNoneMatch.contains(other)) {
+            return other;
+        }
+        return etag;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    // Cursor inválido, sort desconhecido, fuzzy fora do intervalo ou lote grande demais
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("Response", "False", "Error", e.getMessage()));
+    }
+
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    public ResponseEntity<Map<String, String>> upstreamUnavailable(UpstreamUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(Map.of("Response", "False", "Error", e.getMessage()));
+    }
+
+    // Cliente desconectou no meio de um export: a resposta já começou e não há o que escrever.
+    // Qualquer outro IOException segue para o tratamento padrão
+    @ExceptionHandler(IOException.class)
+    public void clientDisconnected(IOException e, WebRequest request) throws IOException {
+        if (request.getAttribute(MovieExportService.STREAMING, RequestAttributes.SCOPE_REQUEST) == null
+                || !DISCONNECTED_CLIENTS.isClientDisconnectedException(e)) {
+            throw e;
+        }
+        log.debug("Export aborted: {}", e.getMessage());
+    }
+
+    @ExceptionHandler(IndexNotReadyException.class)
+    public ResponseEntity<Map<String, String>> indexNotReady(IndexNotReadyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(Map.of("Response", "False", "Error", e.getMessage()));
+    }
 }
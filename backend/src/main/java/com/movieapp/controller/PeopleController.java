@@ -0,0 +1,78 @@
+package com.movieapp.controller;
+
+import com.movieapp.catalog.PersonIndex;
+import com.movieapp.catalog.SortOrder;
+import com.movieapp.dto.PersonDto;
+import com.movieapp.dto.SearchResponseDto;
+import com.movieapp.service.PeopleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/people")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"})
+@Tag(name = "People", description = "Directors, writers and actors of the catalog")
+public class PeopleController {
+
+    @Autowired
+    private PeopleService peopleService;
+
+    @GetMapping("/search")
+    @Operation(summary = "Search people", description = "Directors, writers and actors with a name word starting with the query, most credited first")
+    @ApiResponse(responseCode = "200", description = "People returned successfully")
+    public ResponseEntity<List<PersonDto>> searchPeople(
+            @Parameter(description = "Name or start of a name word", required = true)
+            @RequestParam String q,
+
+            @Parameter(description = "Maximum people (1-50, default: 10)")
+            @RequestParam(defaultValue = "10") int limit) {
+
+        return ResponseEntity.ok(peopleService.search(q, limit));
+    }
+
+    @GetMapping("/{id}/movies")
+    @Operation(summary = "Movies of a person", description = "Titles crediting the person, optionally by role, year range and type")
+    @ApiResponse(responseCode = "200", description = "Movies returned successfully")
+    @ApiResponse(responseCode = "404", description = "Person not found")
+    public ResponseEntity<SearchResponseDto> getPersonMovies(
+            @Parameter(description = "Person id from /api/people/search; valid for the current catalog", required = true)
+            @PathVariable int id,
+
+            @Parameter(description = "Role: director, writer or actor (default: any)")
+            @RequestParam(required = false) String role,
+
+            @Parameter(description = "First year of release, inclusive")
+            @RequestParam(required = false) Integer fromYear,
+
+            @Parameter(description = "Last year of release, inclusive")
+            @RequestParam(required = false) Integer toYear,
+
+            @Parameter(description = "Type of result (movie/series)")
+            @RequestParam(required = false) String type,
+
+            @Parameter(description = "Order: year, rating, votes, boxOffice or relevance (votes)")
+            @RequestParam(defaultValue = "year") String sort,
+
+            @Parameter(description = "Page number (default: 1)")
+            @RequestParam(defaultValue = "1") int page) {
+
+        return peopleService.movies(id, PersonIndex.Role.fromParam(role), fromYear, toYear, type,
+                        SortOrder.fromParam(sort), page)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Papel ou sort desconhecido, ou intervalo de anos invertido
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("Response", "False", "Error", e.getMessage()));
+    }
+}
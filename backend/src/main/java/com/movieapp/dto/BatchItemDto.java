@@ -0,0 +1,24 @@
+package com.movieapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchItemDto(
+    @JsonProperty("imdbID") String imdbId,
+    @JsonProperty("Response") String response,
+    @JsonProperty("Movie") MovieDetailDto movie,
+    @JsonProperty("Error") String error
+) {
+    public static BatchItemDto found(MovieDetailDto movie) {
+        return new BatchItemDto(movie.imdbId(), "True", movie, null);
+    }
+
+    public static BatchItemDto notFound(String imdbId) {
+        return new BatchItemDto(imdbId, "False", null, "Movie not found!");
+    }
+
+    public static BatchItemDto unavailable(String imdbId) {
+        return new BatchItemDto(imdbId, "False", null, "Upstream unavailable");
+    }
+}
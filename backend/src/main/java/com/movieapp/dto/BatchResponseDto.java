@@ -0,0 +1,11 @@
+package com.movieapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+public record BatchResponseDto(
+    @JsonProperty("Results") List<BatchItemDto> results,
+    @JsonProperty("totalResults") String totalResults,
+    @JsonProperty("Response") String response
+) {
+}
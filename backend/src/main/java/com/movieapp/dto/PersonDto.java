@@ -0,0 +1,12 @@
+package com.movieapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record PersonDto(
+    @JsonProperty("id") int id,
+    @JsonProperty("Name") String name,
+    @JsonProperty("Directed") int directed,
+    @JsonProperty("Wrote") int wrote,
+    @JsonProperty("ActedIn") int actedIn
+) {
+}
@@ -1,11 +1,22 @@
 package com.movieapp.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.List;
+import java.util.Map;
 
 public record SearchResponseDto(
     @JsonProperty("Search") List<MovieDto> search,
     @JsonProperty("totalResults") String totalResults,
-    @JsonProperty("Response") String response
+    @JsonProperty("Response") String response,
+    @JsonProperty("next") @JsonInclude(JsonInclude.Include.NON_NULL) String next,
+    @JsonProperty("facets") @JsonInclude(JsonInclude.Include.NON_NULL) Map<String, Map<String, Integer>> facets
 ) {
+    public SearchResponseDto(List<MovieDto> search, String totalResults, String response) {
+        this(search, totalResults, response, null, null);
+    }
+
+    public SearchResponseDto(List<MovieDto> search, String totalResults, String response, String next) {
+        this(search, totalResults, response, next, null);
+    }
 }
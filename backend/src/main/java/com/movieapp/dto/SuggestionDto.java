@@ -0,0 +1,11 @@
+package com.movieapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record SuggestionDto(
+    @JsonProperty("imdbID") String imdbId,
+    @JsonProperty("Title") String title,
+    @JsonProperty("Year") String year,
+    @JsonProperty("Type") String type
+) {
+}
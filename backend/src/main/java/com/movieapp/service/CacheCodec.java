@@ -0,0 +1,293 @@
+package com.movieapp.service;
+
+import com.movieapp.catalog.MovieQuery;
+import com.movieapp.catalog.SortOrder;
+import com.movieapp.dto.MovieDetailDto;
+import com.movieapp.dto.MovieDto;
+import com.movieapp.dto.SearchResponseDto;
+import org.springframework.cache.support.NullValue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary form of the movie cache keys and values for the shared tier: a format byte, a type
+ * tag, then the fields in declaration order, with varint lengths and nullable UTF-8 strings.
+ * Smaller than the JSON of the same value (no field names, quoting or escaping) and two to
+ * three times cheaper to write and read; see {@code CacheCodecBenchmark}.
+ */
+public final class CacheCodec {
+
+    // Muda quando o layout muda: entradas de outra versão viram miss em vez de lixo
+    private static final byte FORMAT = 1;
+
+    private static final byte NULL = 0;
+    private static final byte SEARCH_RESPONSE = 1;
+    private static final byte MOVIE_DETAIL = 2;
+    private static final byte SEARCH_KEY = 3;
+    private static final byte DETAIL_KEY = 4;
+    private static final byte PAGE_KEY = 5;
+
+    private CacheCodec() {
+    }
+
+    /** Whether {@code key} is one of the movie cache keys this codec can encode. */
+    public static boolean supportsKey(Object key) {
+        return key instanceof SearchKey || key instanceof DetailKey || key instanceof Integer;
+    }
+
+    public static byte[] encodeKey(Object key) {
+        Writer out = new Writer(64);
+        out.write(FORMAT);
+        if (key instanceof SearchKey search) {
+            out.write(SEARCH_KEY);
+            out.writeString(search.query().title());
+            out.writeString(search.query().year());
+            out.writeString(search.query().type());
+            out.writeVarint(search.query().fuzzy());
+            out.writeString(search.sort().param());
+            out.writeVarint(zigzag(search.page()));
+            out.write(search.facets() ? 1 : 0);
+        } else if (key instanceof DetailKey detail) {
+            out.write(DETAIL_KEY);
+            out.writeString(detail.imdbId());
+            out.writeString(detail.plot().param());
+        } else if (key instanceof Integer page) {
+            out.write(PAGE_KEY);
+            out.writeVarint(zigzag(page));
+        } else {
+            throw new IllegalArgumentException("Unsupported cache key " + key.getClass().getName());
+        }
+        return out.toByteArray();
+    }
+
+    public static Object decodeKey(byte[] bytes) {
+        Reader in = new Reader(bytes);
+        return switch (in.readTag()) {
+            case SEARCH_KEY -> new SearchKey(
+                    new MovieQuery(in.readString(), in.readString(), in.readString(), in.readVarint()),
+                    SortOrder.fromParam(in.readString()), unzigzag(in.readVarint()), in.read() != 0);
+            case DETAIL_KEY -> new DetailKey(in.readString(), Plot.fromParam(in.readString()));
+            case PAGE_KEY -> unzigzag(in.readVarint());
+            default -> throw new IllegalArgumentException("Not a cache key");
+        };
+    }
+
+    /** Encodes a cached value; {@code null} and {@link NullValue} (a cached miss) are both kept. */
+    public static byte[] encodeValue(Object value) {
+        if (value == null || value instanceof NullValue) {
+            return new byte[] {FORMAT, NULL};
+        }
+        Writer out = new Writer(1024);
+        out.write(FORMAT);
+        if (value instanceof SearchResponseDto response) {
+            out.write(SEARCH_RESPONSE);
+            out.writeVarint(response.search().size());
+            for (MovieDto movie : response.search()) {
+                out.writeString(movie.imdbId());
+                out.writeString(movie.title());
+                out.writeString(movie.year());
+                out.writeString(movie.type());
+                out.writeString(movie.poster());
+            }
+            out.writeString(response.totalResults());
+            out.writeString(response.response());
+            out.writeString(response.next());
+            writeFacets(out, response.facets());
+        } else if (value instanceof MovieDetailDto movie) {
+            out.write(MOVIE_DETAIL);
+            for (String field : fields(movie)) {
+                out.writeString(field);
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported cache value " + value.getClass().getName());
+        }
+        return out.toByteArray();
+    }
+
+    /** The decoded value, {@link NullValue#INSTANCE} for a cached miss. */
+    public static Object decodeValue(byte[] bytes) {
+        Reader in = new Reader(bytes);
+        return switch (in.readTag()) {
+            case NULL -> NullValue.INSTANCE;
+            case SEARCH_RESPONSE -> {
+                // Cada filme tem ao menos 5 bytes (5 strings nulas); um tamanho maior que o resto é lixo
+                int size = in.readCount(5);
+                List<MovieDto> movies = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    movies.add(new MovieDto(in.readString(), in.readString(), in.readString(), in.readString(),
+                            in.readString()));
+                }
+                yield new SearchResponseDto(movies, in.readString(), in.readString(), in.readString(), readFacets(in));
+            }
+            case MOVIE_DETAIL -> {
+                String[] f = new String[24];
+                for (int i = 0; i < f.length; i++) {
+                    f[i] = in.readString();
+                }
+                yield new MovieDetailDto(f[0], f[1], f[2], f[3], f[4], f[5], f[6], f[7], f[8], f[9], f[10], f[11],
+                        f[12], f[13], f[14], f[15], f[16], f[17], f[18], f[19], f[20], f[21], f[22], f[23]);
+            }
+            default -> throw new IllegalArgumentException("Not a cache value");
+        };
+    }
+
+    private static String[] fields(MovieDetailDto m) {
+        return new String[] {m.imdbId(), m.title(), m.year(), m.rated(), m.released(), m.runtime(), m.genre(),
+                m.director(), m.writer(), m.actors(), m.plot(), m.language(), m.country(), m.awards(), m.poster(),
+                m.ratings(), m.metascore(), m.imdbRating(), m.imdbVotes(), m.type(), m.dvd(), m.boxOffice(),
+                m.production(), m.website()};
+    }
+
+    private static void writeFacets(Writer out, Map<String, Map<String, Integer>> facets) {
+        // 0 = sem facetas; senão quantidade + 1
+        out.writeVarint(facets == null ? 0 : facets.size() + 1);
+        if (facets == null) {
+            return;
+        }
+        for (Map.Entry<String, Map<String, Integer>> facet : facets.entrySet()) {
+            out.writeString(facet.getKey());
+            out.writeVarint(facet.getValue().size());
+            for (Map.Entry<String, Integer> count : facet.getValue().entrySet()) {
+                out.writeString(count.getKey());
+                out.writeVarint(count.getValue());
+            }
+        }
+    }
+
+    private static Map<String, Map<String, Integer>> readFacets(Reader in) {
+        int size = in.readCount(2) - 1;
+        if (size < 0) {
+            return null;
+        }
+        // LinkedHashMap: as contagens vêm da mais frequente para a menos, e a ordem vai para o JSON
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>(size * 4 / 3 + 1);
+        for (int i = 0; i < size; i++) {
+            String facet = in.readString();
+            int values = in.readCount(2);
+            Map<String, Integer> counts = new LinkedHashMap<>(values * 4 / 3 + 1);
+            for (int j = 0; j < values; j++) {
+                counts.put(in.readString(), in.readVarint());
+            }
+            facets.put(facet, counts);
+        }
+        return facets;
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Writer {
+        private byte[] bytes;
+        private int size;
+
+        Writer(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        void write(int b) {
+            if (size == bytes.length) {
+                bytes = Arrays.copyOf(bytes, size << 1);
+            }
+            bytes[size++] = (byte) b;
+        }
+
+        void writeVarint(int value) {
+            while ((value & ~0x7F) != 0) {
+                write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write(value);
+        }
+
+        /** Length + 1 (0 is {@code null}), then the UTF-8 bytes. */
+        void writeString(String value) {
+            if (value == null) {
+                writeVarint(0);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(utf8.length + 1);
+            if (size + utf8.length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length << 1, size + utf8.length));
+            }
+            System.arraycopy(utf8, 0, bytes, size, utf8.length);
+            size += utf8.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        byte readTag() {
+            if (bytes.length < 2 || bytes[0] != FORMAT) {
+                throw new IllegalArgumentException("Unknown cache encoding");
+            }
+            position = 2;
+            return bytes[1];
+        }
+
+        int read() {
+            if (position >= bytes.length) {
+                throw new IllegalArgumentException("Truncated cache entry");
+            }
+            return bytes[position++] & 0xFF;
+        }
+
+        int readVarint() {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = read();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        /**
+         * A varint element count, rejected when the remaining bytes cannot hold that many elements
+         * of at least {@code minBytes} each (one more is allowed, for counts stored as size + 1),
+         * so a corrupt entry never sizes a huge collection.
+         */
+        int readCount(int minBytes) {
+            int count = readVarint();
+            if (count < 0 || count > (bytes.length - position) / minBytes + 1) {
+                throw new IllegalArgumentException("Corrupt cache entry: count " + count);
+            }
+            return count;
+        }
+
+        String readString() {
+            int length = readVarint() - 1;
+            if (length < 0) {
+                return null;
+            }
+            if (length > bytes.length - position) {
+                throw new IllegalArgumentException("Truncated cache entry");
+            }
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.movieapp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Replays the {@link QueryLog}'s most requested keys into the movie caches (object and
+ * serialized) on a small pool: at startup, before the application reports ready, and again
+ * after a catalog reload has evicted what it changed. Each round has a time budget; keys not
+ * reached by then are skipped, so warmup never holds readiness back for longer than that.
+ */
+@Component
+public class CacheWarmer implements ApplicationRunner, HealthIndicator, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheWarmer.class);
+
+    private final QueryLog queryLog;
+    private final MovieService movieService;
+    private final CacheManager cacheManager;
+    private final SerializedResponseCache responses;
+    private final TaskScheduler scheduler;
+    private final boolean enabled;
+    private final int topK;
+    private final Duration budget;
+    private final Duration gracePeriod;
+    private final ExecutorService workers;
+    private volatile boolean warming;
+    private volatile Round last;
+
+    public CacheWarmer(QueryLog queryLog,
+                       MovieService movieService,
+                       CacheManager cacheManager,
+                       SerializedResponseCache responses,
+                       TaskScheduler scheduler,
+                       @Value("${movie.warmup.enabled:true}") boolean enabled,
+                       @Value("${movie.warmup.top-k:200}") int topK,
+                       @Value("${movie.warmup.budget:PT20S}") Duration budget,
+                       @Value("${movie.warmup.parallelism:0}") int parallelism,
+                       @Value("${movie.catalog.reload-grace-period:PT5S}") Duration gracePeriod) {
+        this.queryLog = queryLog;
+        this.movieService = movieService;
+        this.cacheManager = cacheManager;
+        this.responses = responses;
+        this.scheduler = scheduler;
+        this.enabled = enabled;
+        this.topK = topK;
+        this.budget = budget;
+        this.gracePeriod = gracePeriod;
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(), r -> {
+                    Thread thread = new Thread(r, "cache-warmup-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /** Runs before {@code ApplicationReadyEvent}, so readiness waits for the first round (or its budget). */
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        warming = true;
+        try {
+            warm("startup").await(budget);
+        } finally {
+            warming = false;
+        }
+    }
+
+    @EventListener
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        if (!enabled || event.diff().isEmpty()) {
+            return;
+        }
+        // Depois da segunda invalidação do CatalogCacheInvalidator, senão ela apagaria o aquecido
+        scheduler.schedule(() -> warm("reload"), Instant.now().plus(gracePeriod).plusSeconds(1));
+    }
+
+    @Override
+    public Health health() {
+        if (warming) {
+            return Health.outOfService().withDetail("warming", true).build();
+        }
+        Round round = last;
+        return round == null ? Health.up().build() : Health.up()
+                .withDetail("lastRound", round.reason)
+                .withDetail("warmed", round.warmed.get())
+                .withDetail("skipped", round.skipped.get())
+                .withDetail("failed", round.failed.get())
+                .build();
+    }
+
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+
+    private Round warm(String reason) {
+        List<QueryLog.CacheKey> keys = queryLog.top(topK);
+        Round round = new Round(reason, keys.size(), System.nanoTime() + budget.toNanos());
+        last = round;
+        for (QueryLog.CacheKey key : keys) {
+            workers.execute(() -> round.run(() -> load(key)));
+        }
+        return round;
+    }
+
+    /** Fills both caches for {@code key} the way a request would, without touching what is cached. */
+    private void load(QueryLog.CacheKey key) {
+        Cache cache = cacheManager.getCache(key.cache());
+        Supplier<Object> value = () -> {
+            Object loaded = cache != null
+                    ? cache.get(key.key(), () -> movieService.load(key.key()))
+                    : movieService.load(key.key());
+            return loaded instanceof NullValue ? null : loaded;
+        };
+        if (responses.enabled()) {
+            responses.get(key.cache(), key.key(), value);
+        } else {
+            value.get();
+        }
+    }
+
+    private static final class Round {
+        final String reason;
+        final long deadline;
+        final long start = System.nanoTime();
+        final CountDownLatch pending;
+        final AtomicInteger remaining;
+        final AtomicInteger warmed = new AtomicInteger();
+        final AtomicInteger skipped = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+
+        Round(String reason, int keys, long deadline) {
+            this.reason = reason;
+            this.deadline = deadline;
+            this.pending = new CountDownLatch(keys);
+            this.remaining = new AtomicInteger(keys);
+            if (keys == 0) {
+                log.info("Cache warmup ({}): query log is empty", reason);
+            }
+        }
+
+        void run(Runnable load) {
+            try {
+                // Estourou o orçamento: o que falta fica para as requisições de verdade
+                if (System.nanoTime() - deadline > 0) {
+                    skipped.incrementAndGet();
+                } else {
+                    load.run();
+                    warmed.incrementAndGet();
+                }
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                log.debug("Cache warmup ({}) could not load a key: {}", reason, e.getMessage());
+            } finally {
+                pending.countDown();
+                if (remaining.decrementAndGet() == 0) {
+                    log.info("Cache warmup ({}): {} keys warmed, {} skipped, {} failed in {} ms", reason,
+                            warmed.get(), skipped.get(), failed.get(),
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                }
+            }
+        }
+
+        void await(Duration budget) throws InterruptedException {
+            if (!pending.await(budget.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.info("Cache warmup ({}) budget of {} ms reached; serving with {} keys still pending",
+                        reason, budget.toMillis(), pending.getCount());
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.movieapp.service;
+
+import com.movieapp.catalog.CatalogDiff;
+import com.movieapp.dto.MovieDetailDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Evicts only the cache entries a catalog reload can affect, instead of clearing everything,
+ * from the object caches and the serialized response cache alike. Also applies the evictions
+ * other instances publish on the {@link InvalidationBus} to this instance's local caches.
+ */
+@Component
+public class CatalogCacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private final SerializedResponseCache responses;
+    private final TaskScheduler scheduler;
+    private final Duration gracePeriod;
+
+    public CatalogCacheInvalidator(CacheManager cacheManager,
+                                   SerializedResponseCache responses,
+                                   TaskScheduler scheduler,
+                                   InvalidationBus bus,
+                                   @Value("${movie.catalog.reload-grace-period:PT5S}") Duration gracePeriod) {
+        this.cacheManager = cacheManager;
+        this.responses = responses;
+        this.scheduler = scheduler;
+        this.gracePeriod = gracePeriod;
+        bus.subscribe(this::onRemoteInvalidation);
+    }
+
+    /**
+     * Evicts the affected entries now and once more after the grace period, for requests that
+     * were still reading the previous catalog. That second pass runs only once: a request
+     * slower than the grace period can still cache a stale entry, until it expires.
+     */
+    @EventListener
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        CatalogDiff diff = event.diff();
+        if (diff.isEmpty()) {
+            return;
+        }
+        invalidate(diff);
+        // Requisições que ainda usam o snapshot anterior podem regravar entradas antigas
+        scheduler.schedule(() -> invalidate(diff), Instant.now().plus(gracePeriod));
+    }
+
+    private void invalidate(CatalogDiff diff) {
+        // Só as chaves presentes: uma atualização de rotina muda quase todos os registros, mas
+        // poucos estão em cache, e cada despejo custa uma remoção no L2 e um datagrama por peer
+        evictWhere("movieDetail", key -> !(key instanceof DetailKey detail)
+                || diff.changedIds().contains(detail.imdbId()));
+
+        // Páginas guardam o total do catálogo; se ele mudou, todas ficam desatualizadas
+        evictWhere("allMovies", key -> diff.sizeChanged()
+                || !(key instanceof Integer page)
+                || (long) page * MovieService.PAGE_SIZE > diff.firstChangedRow());
+
+        // Uma busca só muda se algum registro alterado (versão antiga ou nova) casar com ela
+        evictWhere("movieSearch", key -> diff.reordered()
+                || !(key instanceof SearchKey searchKey)
+                || affects(diff.changedMovies(), searchKey));
+    }
+
+    private static boolean affects(List<MovieDetailDto> changedMovies, SearchKey key) {
+        for (MovieDetailDto movie : changedMovies) {
+            if (key.query().matches(movie)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void evictWhere(String cacheName, Predicate<Object> affected) {
+        responses.evictWhere(cacheName, affected);
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache instanceof TwoTierCache twoTier) {
+            // Inclui as chaves que só estão no segundo nível
+            twoTier.evictWhere(affected);
+        } else if (cache instanceof CaffeineCache caffeineCache) {
+            List<Object> keys = new ArrayList<>();
+            for (Object key : caffeineCache.getNativeCache().asMap().keySet()) {
+                if (affected.test(key)) {
+                    keys.add(key);
+                }
+            }
+            keys.forEach(cache::evict);
+        } else if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Another instance evicted {@code key} (or cleared the cache), shared tier included: only
+     * this instance's local caches are left.
+     */
+    private void onRemoteInvalidation(String cacheName, byte[] key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (key == null) {
+            if (cache instanceof TwoTierCache twoTier) {
+                twoTier.clearLocal();
+            }
+            responses.evictWhere(cacheName, any -> true);
+            return;
+        }
+        Object decoded = CacheCodec.decodeKey(key);
+        if (cache instanceof TwoTierCache twoTier) {
+            twoTier.evictLocal(decoded);
+        }
+        responses.evict(cacheName, decoded);
+    }
+}
@@ -0,0 +1,7 @@
+package com.movieapp.service;
+
+import com.movieapp.catalog.CatalogDiff;
+import com.movieapp.catalog.MovieCatalog;
+
+public record CatalogReloadedEvent(MovieCatalog previous, MovieCatalog current, CatalogDiff diff) {
+}
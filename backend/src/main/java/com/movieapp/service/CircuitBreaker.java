@@ -0,0 +1,81 @@
+package com.movieapp.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Consecutive-failure circuit breaker. After {@code failureThreshold} failures in a row calls are
+ * refused for {@code openDuration}; then a single trial call is let through, which either closes
+ * the circuit or opens it for another period.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /** Outcome of {@link #tryAcquire}; a {@link #TRIAL} is the one call let through while half-open. */
+    public enum Permit {
+        DENIED, CALL, TRIAL;
+
+        public boolean granted() {
+            return this != DENIED;
+        }
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicBoolean trialInFlight = new AtomicBoolean();
+    private volatile long openedAt;
+    private volatile boolean open;
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Whether a call may go ahead now. Every granted permit must be handed back with its outcome,
+     * so only the call holding the trial can end it.
+     */
+    public Permit tryAcquire() {
+        if (!open) {
+            return Permit.CALL;
+        }
+        if (System.nanoTime() - openedAt < openNanos) {
+            return Permit.DENIED;
+        }
+        // Meio aberto: só uma chamada de teste por vez
+        return trialInFlight.compareAndSet(false, true) ? Permit.TRIAL : Permit.DENIED;
+    }
+
+    public void onSuccess(Permit permit) {
+        failures.set(0);
+        open = false;
+        release(permit);
+    }
+
+    public void onFailure(Permit permit) {
+        if (failures.incrementAndGet() >= failureThreshold || open) {
+            openedAt = System.nanoTime();
+            open = true;
+        }
+        release(permit);
+    }
+
+    /** Gives back a permitted call that was never made, without counting an outcome. */
+    public void release(Permit permit) {
+        // Uma chamada comum que termina durante o teste não pode liberar a vaga dele
+        if (permit == Permit.TRIAL) {
+            trialInFlight.set(false);
+        }
+    }
+
+    public State state() {
+        if (!open) {
+            return State.CLOSED;
+        }
+        return System.nanoTime() - openedAt < openNanos ? State.OPEN : State.HALF_OPEN;
+    }
+}
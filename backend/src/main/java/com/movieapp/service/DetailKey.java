@@ -0,0 +1,8 @@
+package com.movieapp.service;
+
+/**
+ * Cache key of the {@code movieDetail} cache: the short and full plot of a movie are different
+ * responses, fetched and cached separately.
+ */
+public record DetailKey(String imdbId, Plot plot) {
+}
@@ -0,0 +1,207 @@
+package com.movieapp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SharedCacheStore} as one file per entry under {@code root/<cache>/}, named by the
+ * SHA-256 of the key: instances on the same host or sharing a volume see each other's entries
+ * with no service to run. A file holds the expiry (epoch millis), the key and the value, and is
+ * written to a temporary file and moved into place, so readers never see half an entry. Expired
+ * files, including those of caches no longer written to, are deleted by a background thread
+ * every {@code sweepInterval}, away from the requests that read and write entries.
+ */
+public class DirectorySharedCacheStore implements SharedCacheStore {
+
+    private static final Logger log = LoggerFactory.getLogger(DirectorySharedCacheStore.class);
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path root;
+    private final long sweepIntervalMillis;
+    private final ScheduledExecutorService sweeper;
+
+    public DirectorySharedCacheStore(Path root, Duration sweepInterval) {
+        this.root = root;
+        this.sweepIntervalMillis = sweepInterval.toMillis();
+        try {
+            Files.createDirectories(root);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create shared cache directory " + root, e);
+        }
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "shared-cache-sweep");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepIntervalMillis, sweepIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public byte[] get(String cache, byte[] key) {
+        Path file = file(cache, key);
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ByteBuffer entry = ByteBuffer.wrap(bytes);
+        if (entry.getLong() < System.currentTimeMillis()) {
+            deleteQuietly(file);
+            return null;
+        }
+        int keyLength = entry.getInt();
+        // Colisão de hash (ou arquivo de outra chave): conta como miss
+        if (!Arrays.equals(bytes, entry.position(), entry.position() + keyLength, key, 0, key.length)) {
+            return null;
+        }
+        return Arrays.copyOfRange(bytes, entry.position() + keyLength, bytes.length);
+    }
+
+    @Override
+    public void put(String cache, byte[] key, byte[] value, Duration ttl) {
+        ByteBuffer entry = ByteBuffer.allocate(Long.BYTES + Integer.BYTES + key.length + value.length)
+                .putLong(System.currentTimeMillis() + ttl.toMillis())
+                .putInt(key.length)
+                .put(key)
+                .put(value);
+        Path file = file(cache, key);
+        Path temp = null;
+        try {
+            Files.createDirectories(file.getParent());
+            temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), TEMP_SUFFIX);
+            Files.write(temp, entry.array());
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void evict(String cache, byte[] key) {
+        deleteQuietly(file(cache, key));
+    }
+
+    @Override
+    public void clear(String cache) {
+        Path dir = root.resolve(cache);
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            files.forEach(DirectorySharedCacheStore::deleteQuietly);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public List<byte[]> keys(String cache) {
+        Path dir = root.resolve(cache);
+        List<byte[]> keys = new ArrayList<>();
+        if (!Files.isDirectory(dir)) {
+            return keys;
+        }
+        long now = System.currentTimeMillis();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "[0-9a-f]*")) {
+            for (Path file : files) {
+                if (file.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+                    continue;
+                }
+                try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+                    if (in.readLong() >= now) {
+                        keys.add(in.readNBytes(in.readInt()));
+                    }
+                } catch (IOException e) {
+                    // Apagado ou substituído enquanto a listagem corria
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return keys;
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+    }
+
+    private void sweep() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(root, Files::isDirectory)) {
+            for (Path dir : dirs) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+                    for (Path file : files) {
+                        if (!file.getFileName().toString().endsWith(TEMP_SUFFIX) && expiry(file) < now) {
+                            deleteQuietly(file);
+                            removed++;
+                        }
+                    }
+                }
+                // Diretório de uma versão antiga do catálogo: vazio e sem gravações há um intervalo inteiro
+                if (Files.getLastModifiedTime(dir).toMillis() < now - sweepIntervalMillis) {
+                    deleteQuietly(dir);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Uma exceção aqui cancelaria as próximas varreduras
+            log.debug("Could not sweep shared cache directory {}: {}", root, e.getMessage());
+        }
+        log.debug("Shared cache directory {}: {} expired entries removed", root, removed);
+    }
+
+    private static long expiry(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return new DataInputStream(in).readLong();
+        } catch (IOException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private Path file(String cache, byte[] key) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key);
+            return root.resolve(cache).resolve(HexFormat.of().formatHex(hash));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // Outra instância apagou ou regravou ao mesmo tempo
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.movieapp.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link SharedCacheStore} inside this JVM, for a single instance or for trying the two tiers
+ * without a shared backend. Entries are encoded bytes, several times smaller than the objects
+ * the first tier holds, so the same memory keeps more responses around.
+ */
+public class InMemorySharedCacheStore implements SharedCacheStore {
+
+    // ByteBuffer compara pelo conteúdo, byte[] não
+    private record Key(String cache, ByteBuffer key) {
+    }
+
+    private record Entry(byte[] value, long ttlNanos) {
+    }
+
+    private final Cache<Key, Entry> entries;
+
+    public InMemorySharedCacheStore(long maxBytes) {
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, Entry entry) -> key.key().capacity() + entry.value().length)
+                .expireAfter(new Expiry<Key, Entry>() {
+                    @Override
+                    public long expireAfterCreate(Key key, Entry entry, long currentTime) {
+                        return entry.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Key key, Entry entry, long currentTime, long currentDuration) {
+                        return entry.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(Key key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public byte[] get(String cache, byte[] key) {
+        Entry entry = entries.getIfPresent(new Key(cache, ByteBuffer.wrap(key)));
+        return entry != null ? entry.value() : null;
+    }
+
+    @Override
+    public void put(String cache, byte[] key, byte[] value, Duration ttl) {
+        entries.put(new Key(cache, ByteBuffer.wrap(key)), new Entry(value, ttl.toNanos()));
+    }
+
+    @Override
+    public void evict(String cache, byte[] key) {
+        entries.invalidate(new Key(cache, ByteBuffer.wrap(key)));
+    }
+
+    @Override
+    public void clear(String cache) {
+        entries.asMap().keySet().removeIf(key -> key.cache().equals(cache));
+    }
+
+    @Override
+    public List<byte[]> keys(String cache) {
+        List<byte[]> keys = new ArrayList<>();
+        for (Key key : entries.asMap().keySet()) {
+            if (key.cache().equals(cache)) {
+                keys.add(key.key().array());
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,11 @@
+package com.movieapp.service;
+
+/**
+ * A precomputed index the request needs is still being built; the request can be retried shortly.
+ */
+public class IndexNotReadyException extends RuntimeException {
+
+    public IndexNotReadyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.movieapp.service;
+
+public class InvalidCursorException extends IllegalArgumentException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
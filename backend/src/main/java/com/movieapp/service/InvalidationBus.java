@@ -0,0 +1,36 @@
+package com.movieapp.service;
+
+/**
+ * Publishes the cache evictions of this instance to the others and delivers theirs, so an entry
+ * dropped on one node is dropped from every node's local tier. Delivery is best effort: the
+ * entries' expiry still bounds how long a lost message can leave a stale response around.
+ */
+public interface InvalidationBus extends AutoCloseable {
+
+    /** Receives the evictions published by other instances. */
+    @FunctionalInterface
+    interface Listener {
+        /** {@code key} is the {@link CacheCodec} key, or {@code null} when the whole cache was cleared. */
+        void onInvalidation(String cache, byte[] key);
+    }
+
+    /** Single instance: nothing is sent or received. */
+    InvalidationBus NONE = new InvalidationBus() {
+        @Override
+        public void publish(String cache, byte[] key) {
+        }
+
+        @Override
+        public void subscribe(Listener listener) {
+        }
+    };
+
+    /** Tells the other instances to evict {@code key} of {@code cache} ({@code null}: all of it). */
+    void publish(String cache, byte[] key);
+
+    void subscribe(Listener listener);
+
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,114 @@
+package com.movieapp.service;
+
+import com.movieapp.catalog.MovieCatalog;
+import com.movieapp.dto.BatchItemDto;
+import com.movieapp.dto.BatchResponseDto;
+import com.movieapp.dto.MovieDetailDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Details of many movies (short plot) in one call. Cached entries come from a single bulk lookup
+ * on the {@code movieDetail} cache, shared tier included when it is a {@link TwoTierCache}; the
+ * misses are resolved to rows through the id index and read in row order, ids the catalog lacks
+ * are fetched upstream in parallel, and all of it is stored in the same cache with the same
+ * values {@code @Cacheable} would write.
+ */
+@Service
+public class MovieBatchService {
+
+    private final MovieCatalogManager catalogs;
+    private final OmdbClient upstream;
+    private final MovieMetrics metrics;
+    private final CaffeineCache details;
+    private final int maxSize;
+
+    public MovieBatchService(MovieCatalogManager catalogs, OmdbClient upstream, MovieMetrics metrics,
+                             CacheManager cacheManager, @Value("${movie.batch.max-size:100}") int maxSize) {
+        this.catalogs = catalogs;
+        this.upstream = upstream;
+        this.metrics = metrics;
+        this.details = (CaffeineCache) cacheManager.getCache("movieDetail");
+        this.maxSize = maxSize;
+    }
+
+    /** One entry per requested id, in request order (duplicates included). */
+    public BatchResponseDto getMoviesByIds(List<String> imdbIds) {
+        if (imdbIds.isEmpty() || imdbIds.size() > maxSize) {
+            throw new IllegalArgumentException("A batch must have between 1 and " + maxSize + " ids");
+        }
+        long start = System.nanoTime();
+        Set<DetailKey> keys = new LinkedHashSet<>(imdbIds.size() * 2);
+        for (String imdbId : imdbIds) {
+            keys.add(new DetailKey(imdbId, Plot.SHORT));
+        }
+        // Com dois níveis, o que faltar no local é procurado no compartilhado antes de carregar
+        Map<Object, Object> found = details instanceof TwoTierCache twoTier
+                ? twoTier.getAll(keys, this::loadAll)
+                : details.getNativeCache().getAll(keys, this::loadAll);
+
+        List<BatchItemDto> results = new ArrayList<>(imdbIds.size());
+        int count = 0;
+        for (String imdbId : imdbIds) {
+            Object value = found.get(new DetailKey(imdbId, Plot.SHORT));
+            if (value instanceof MovieDetailDto movie) {
+                results.add(BatchItemDto.found(movie));
+                count++;
+            } else if (value == null) {
+                results.add(BatchItemDto.unavailable(imdbId));
+            } else {
+                results.add(BatchItemDto.notFound(imdbId));
+            }
+        }
+        metrics.record(MovieMetrics.Method.BATCH, start);
+        return new BatchResponseDto(results, String.valueOf(count), "True");
+    }
+
+    private Map<Object, Object> loadAll(Set<?> missing) {
+        MovieCatalog catalog = catalogs.current();
+        DetailKey[] keys = missing.toArray(new DetailKey[0]);
+        // (linha, posição): ordenar lê o armazenamento em sequência; ids ausentes (-1) vêm antes
+        long[] rows = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            rows[i] = ((long) catalog.rowOf(keys[i].imdbId()) << 32) | i;
+        }
+        Arrays.sort(rows);
+
+        Map<Object, Object> loaded = new HashMap<>(keys.length * 2);
+        Map<DetailKey, CompletableFuture<Optional<MovieDetailDto>>> remote = new HashMap<>();
+        for (long entry : rows) {
+            int row = (int) (entry >> 32);
+            DetailKey key = keys[(int) entry];
+            if (row >= 0) {
+                loaded.put(key, catalog.get(row));
+            } else if (upstream.enabled()) {
+                remote.put(key, upstream.fetchAsync(key.imdbId(), key.plot()));
+            } else {
+                loaded.put(key, NullValue.INSTANCE);
+            }
+        }
+        // Buscas remotas em paralelo; as que falharem ficam fora do mapa e do cache
+        remote.forEach((key, future) -> {
+            try {
+                loaded.put(key, future.join().<Object>map(movie -> movie).orElse(NullValue.INSTANCE));
+            } catch (CompletionException e) {
+                // Marcada como indisponível na resposta
+            }
+        });
+        return loaded;
+    }
+}
@@ -0,0 +1,137 @@
+package com.movieapp.service;
+
+import com.movieapp.catalog.CatalogDiff;
+import com.movieapp.catalog.CatalogSnapshot;
+import com.movieapp.catalog.MovieCatalog;
+import com.movieapp.catalog.MovieCatalogSource;
+import com.movieapp.catalog.MovieStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Owns the current catalog snapshot. A reload builds a complete new {@link MovieCatalog}
+ * (records and indexes) off the request path and publishes it with a single reference swap;
+ * requests that already grabbed the previous snapshot keep using it until they finish.
+ */
+@Component
+public class MovieCatalogManager {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieCatalogManager.class);
+
+    private final MovieCatalogSource source;
+    private final MovieStore.Type storeType;
+    private final ApplicationEventPublisher events;
+    private final boolean autoReload;
+    private final Path snapshotPath;
+    private final boolean writeSnapshot;
+    // Catálogo e versão da fonte trocam juntos: quem lê um nunca vê o outro de outra carga
+    private final AtomicReference<Loaded> current = new AtomicReference<>();
+
+    private record Loaded(MovieCatalog catalog, String version) {
+    }
+
+    public MovieCatalogManager(MovieCatalogSource source,
+                               ApplicationEventPublisher events,
+                               @Value("${movie.catalog.storage:heap}") String storage,
+                               @Value("${movie.catalog.auto-reload:false}") boolean autoReload,
+                               @Value("${movie.catalog.snapshot.path:}") String snapshotPath,
+                               @Value("${movie.catalog.snapshot.write-on-load:true}") boolean writeSnapshot) throws IOException {
+        this.source = source;
+        this.storeType = MovieStore.Type.of(storage);
+        this.events = events;
+        this.autoReload = autoReload;
+        this.snapshotPath = snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+        this.writeSnapshot = writeSnapshot;
+
+        // Com o mesmo mtime:tamanho do snapshot a versão gravada nele vale, sem reler a fonte inteira
+        String fingerprint = source.fingerprint();
+        CatalogSnapshot.Opened opened = openSnapshot();
+        if (opened != null && fingerprint != null && fingerprint.equals(opened.sourceFingerprint())) {
+            source.assumeVersion(fingerprint, opened.sourceVersion());
+        }
+        String version = source.version();
+        MovieCatalog catalog;
+        if (opened != null && Objects.equals(opened.sourceVersion(), version)) {
+            catalog = opened.catalog();
+        } else {
+            if (opened != null) {
+                log.info("Catalog snapshot {} is stale (source changed), doing a full load", snapshotPath);
+            }
+            catalog = loadFromSource(version, fingerprint);
+        }
+        this.current.set(new Loaded(catalog, version));
+    }
+
+    public MovieCatalog current() {
+        return current.get().catalog();
+    }
+
+    /** Source version of {@link #current()}: instances with the same version serve the same data. */
+    public String version() {
+        return current.get().version();
+    }
+
+    public synchronized CatalogDiff reload() throws IOException {
+        String fingerprint = source.fingerprint();
+        String version = source.version();
+        MovieCatalog next = loadFromSource(version, fingerprint);
+        MovieCatalog previous = current.getAndSet(new Loaded(next, version)).catalog();
+
+        CatalogDiff diff = CatalogDiff.between(previous, next);
+        log.info("Catalog '{}' swapped: {} changed ids, first changed row {}",
+                source.name(), diff.changedIds().size(), diff.firstChangedRow());
+        events.publishEvent(new CatalogReloadedEvent(previous, next, diff));
+        return diff;
+    }
+
+    private CatalogSnapshot.Opened openSnapshot() {
+        if (snapshotPath == null || !Files.exists(snapshotPath)) {
+            return null;
+        }
+        try {
+            return CatalogSnapshot.open(snapshotPath);
+        } catch (IOException e) {
+            log.warn("Catalog snapshot {} unusable ({}), doing a full load", snapshotPath, e.getMessage());
+            return null;
+        }
+    }
+
+    private MovieCatalog loadFromSource(String sourceVersion, String sourceFingerprint) throws IOException {
+        MovieCatalog catalog = MovieCatalog.load(source, storeType);
+        if (snapshotPath != null && writeSnapshot) {
+            try {
+                CatalogSnapshot.write(catalog, sourceVersion, sourceFingerprint, snapshotPath);
+            } catch (IOException e) {
+                // O snapshot é só uma otimização de partida; falhar aqui não impede servir
+                log.warn("Could not write catalog snapshot {}", snapshotPath, e);
+            }
+        }
+        return catalog;
+    }
+
+    @Scheduled(fixedDelayString = "${movie.catalog.reload-check-interval:PT30S}",
+            initialDelayString = "${movie.catalog.reload-check-interval:PT30S}")
+    public void reloadIfChanged() {
+        if (!autoReload) {
+            return;
+        }
+        try {
+            if (!Objects.equals(source.version(), version())) {
+                reload();
+            }
+        } catch (IOException | RuntimeException e) {
+            // Mantém o snapshot atual; a próxima verificação tenta de novo
+            log.warn("Catalog reload from '{}' failed, keeping current snapshot", source.name(), e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.movieapp.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.movieapp.catalog.MovieCatalog;
+import com.movieapp.catalog.MovieQuery;
+import com.movieapp.catalog.RowIterator;
+import com.movieapp.dto.MovieDetailDto;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bulk export: every title matching a query, in catalog order, as one JSON object per line.
+ * Rows are serialized one at a time straight into the response stream, so memory stays flat
+ * whatever the catalog size, and a slow client simply blocks the writer.
+ */
+@Service
+public class MovieExportService {
+
+    public static final String NDJSON = "application/x-ndjson";
+
+    /** Request attribute marking a streaming export, which gets {@code movie.export.timeout}. */
+    public static final String STREAMING = MovieExportService.class.getName() + ".STREAMING";
+
+    private static final int GZIP_BUFFER = 64 * 1024;
+
+    private final MovieCatalogManager catalogs;
+    private final ObjectWriter writer;
+    private final ObjectMapper objectMapper;
+    private final MovieMetrics metrics;
+
+    public MovieExportService(MovieCatalogManager catalogs, ObjectMapper objectMapper, MovieMetrics metrics) {
+        this.catalogs = catalogs;
+        this.objectMapper = objectMapper;
+        // Sem flush por objeto: o gerador e o buffer do servlet decidem quando ir para o socket
+        this.writer = objectMapper.writerFor(MovieDetailDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.metrics = metrics;
+    }
+
+    /**
+     * Prepares the export of {@code query} against the current catalog; the returned task writes
+     * it, so a reload while the response is streaming does not change what is sent.
+     */
+    public Export export(MovieQuery query) {
+        MovieCatalog catalog = catalogs.current();
+        MovieQuery normalized = query.normalized();
+        return (out, gzip) -> write(catalog, normalized, out, gzip);
+    }
+
+    @FunctionalInterface
+    public interface Export {
+        /** Writes the matches to {@code out}, gzip-compressed if asked. Does not close {@code out}. */
+        void writeTo(OutputStream out, boolean gzip) throws IOException;
+    }
+
+    private void write(MovieCatalog catalog, MovieQuery query, OutputStream out, boolean gzip) throws IOException {
+        long start = System.nanoTime();
+        FastGzipOutputStream compressed = gzip ? new FastGzipOutputStream(out) : null;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(gzip ? compressed : out)) {
+            // Quem fecha o stream da resposta é o Spring, depois do flush final
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            RowIterator rows = catalog.matches(query);
+            for (int row = rows.next(); row != RowIterator.NO_MORE_ROWS; row = rows.next()) {
+                writer.writeValue(generator, catalog.get(row));
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+            if (compressed != null) {
+                compressed.finish();
+            }
+        } finally {
+            if (compressed != null) {
+                // O stream não é fechado, então o Deflater nativo é liberado aqui
+                compressed.release();
+            }
+            metrics.record(MovieMetrics.Method.EXPORT, start);
+        }
+    }
+
+    /** Gzip at the fastest level: a full export should be bound by the network, not by deflate. */
+    private static final class FastGzipOutputStream extends GZIPOutputStream {
+        FastGzipOutputStream(OutputStream out) throws IOException {
+            super(out, GZIP_BUFFER);
+            def.setLevel(Deflater.BEST_SPEED);
+        }
+
+        void release() {
+            def.end();
+        }
+    }
+}
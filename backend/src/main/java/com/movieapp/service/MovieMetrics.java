@@ -0,0 +1,128 @@
+package com.movieapp.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters of the movie service, registered once so the hot path only records into them. Every
+ * tag comes from a fixed set (method, phase, cache, encoding), never from query text, so the
+ * number of series does not grow with traffic.
+ */
+@Component
+public class MovieMetrics {
+
+    public enum Method {
+        SEARCH("search"),
+        SEARCH_AFTER("searchAfter"),
+        SUGGEST("suggest"),
+        DETAIL("detail"),
+        ALL("all"),
+        ALL_AFTER("allAfter"),
+        BATCH("batch"),
+        SIMILAR("similar"),
+        PEOPLE_SEARCH("peopleSearch"),
+        PEOPLE_MOVIES("peopleMovies"),
+        EXPORT("export");
+
+        private final String tag;
+
+        Method(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private static final String[] RESPONSE_CACHES = {"movieSearch", "movieDetail", "allMovies"};
+
+    private final Timer[] methods;
+    private final Timer filteredMatch;
+    private final Timer filteredPage;
+    private final Timer presortedMatch;
+    private final Timer presortedPage;
+    private final DistributionSummary matches;
+    private final Map<String, DistributionSummary[]> responseSizes = new HashMap<>();
+
+    public MovieMetrics(MeterRegistry registry) {
+        methods = new Timer[Method.values().length];
+        for (Method method : Method.values()) {
+            methods[method.ordinal()] = timer("movie.service", "Time spent in MovieService; cached methods are only timed on cache misses")
+                    .tag("method", method.tag)
+                    .register(registry);
+        }
+        filteredMatch = phase(registry, "match", true);
+        filteredPage = phase(registry, "page", true);
+        presortedMatch = phase(registry, "match", false);
+        presortedPage = phase(registry, "page", false);
+        matches = DistributionSummary.builder("movie.search.matches")
+                .description("Movies matching a computed search")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(10_000_000.0)
+                .register(registry);
+        for (String cache : RESPONSE_CACHES) {
+            responseSizes.put(cache, new DistributionSummary[]{responseSize(registry, cache, "identity"),
+                    responseSize(registry, cache, "gzip")});
+        }
+    }
+
+    /** Meters that record into nothing, for use outside the application context. */
+    public static MovieMetrics noop() {
+        return new MovieMetrics(new CompositeMeterRegistry());
+    }
+
+    public void record(Method method, long startNanos) {
+        methods[method.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Splits a search into finding and ranking the matches and building the page, for a filtered
+     * query (scan of the matches) or an unfiltered one (pre-sorted permutation).
+     */
+    public void recordSearchPhases(boolean filtered, long startNanos, long pageStartNanos, int matchCount) {
+        long end = System.nanoTime();
+        (filtered ? filteredMatch : presortedMatch).record(pageStartNanos - startNanos, TimeUnit.NANOSECONDS);
+        (filtered ? filteredPage : presortedPage).record(end - pageStartNanos, TimeUnit.NANOSECONDS);
+        matches.record(matchCount);
+    }
+
+    public void recordResponseSize(String cache, boolean gzip, int bytes) {
+        DistributionSummary[] sizes = responseSizes.get(cache);
+        if (sizes != null) {
+            sizes[gzip ? 1 : 0].record(bytes);
+        }
+    }
+
+    private static Timer.Builder timer(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(1_000))
+                .maximumExpectedValue(Duration.ofSeconds(10));
+    }
+
+    private static Timer phase(MeterRegistry registry, String phase, boolean filtered) {
+        return timer("movie.search.phase", "Time per search phase: match (filter and rank) or page (build the response)")
+                .tag("phase", phase)
+                .tag("filtered", Boolean.toString(filtered))
+                .register(registry);
+    }
+
+    private static DistributionSummary responseSize(MeterRegistry registry, String cache, String encoding) {
+        return DistributionSummary.builder("movie.response.size")
+                .description("Size of serialized movie responses as sent")
+                .baseUnit("bytes")
+                .tag("cache", cache)
+                .tag("encoding", encoding)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(16.0)
+                .maximumExpectedValue(1_048_576.0)
+                .register(registry);
+    }
+}
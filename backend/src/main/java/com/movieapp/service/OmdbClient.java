@@ -0,0 +1,235 @@
+package com.movieapp.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.movieapp.dto.MovieDetailDto;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Client of an OMDb-compatible API ({@code ?i=<imdbID>&plot=short|full}), used for catalog
+ * misses and full plots. Requests go through the JDK's non-blocking {@link HttpClient}, which
+ * keeps connections alive between calls. Concurrent lookups of the same movie share one
+ * request; a semaphore bounds the calls in flight and a {@link CircuitBreaker} stops calling a
+ * failing upstream, both refusing immediately instead of queueing.
+ */
+public class OmdbClient {
+
+    private static final OmdbClient DISABLED = new OmdbClient();
+
+    private final URI baseUrl;
+    private final String apiKey;
+    private final Duration requestTimeout;
+    private final HttpClient httpClient;
+    private final int maxConcurrent;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader movieReader;
+    private final ConcurrentMap<DetailKey, CompletableFuture<Optional<MovieDetailDto>>> inFlight =
+            new ConcurrentHashMap<>();
+
+    public OmdbClient(URI baseUrl, String apiKey, Duration connectTimeout, Duration requestTimeout,
+                      int maxConcurrent, CircuitBreaker circuitBreaker, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.apiKey = apiKey;
+        this.requestTimeout = requestTimeout;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.maxConcurrent = maxConcurrent;
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.circuitBreaker = circuitBreaker;
+        this.objectMapper = objectMapper;
+        this.movieReader = objectMapper.readerFor(MovieDetailDto.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    private OmdbClient() {
+        this.baseUrl = null;
+        this.apiKey = null;
+        this.requestTimeout = null;
+        this.httpClient = null;
+        this.maxConcurrent = 0;
+        this.bulkhead = null;
+        this.circuitBreaker = null;
+        this.objectMapper = null;
+        this.movieReader = null;
+    }
+
+    /** A client with no upstream: {@link #enabled()} is false and lookups find nothing. */
+    public static OmdbClient disabled() {
+        return DISABLED;
+    }
+
+    public boolean enabled() {
+        return baseUrl != null;
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return enabled() ? circuitBreaker.state() : CircuitBreaker.State.CLOSED;
+    }
+
+    /** Upstream calls currently holding a bulkhead permit. */
+    public int inFlightCalls() {
+        return enabled() ? maxConcurrent - bulkhead.availablePermits() : 0;
+    }
+
+    /**
+     * Blocking form of {@link #fetchAsync}, bounded by the request timeout.
+     *
+     * @throws UpstreamUnavailableException if the upstream could not answer
+     */
+    public Optional<MovieDetailDto> fetch(String imdbId, Plot plot) {
+        try {
+            return fetchAsync(imdbId, plot).join();
+        } catch (CompletionException e) {
+            throw unavailable(e.getCause());
+        }
+    }
+
+    /**
+     * The movie as the upstream has it, empty when the upstream does not know the id. Completes
+     * exceptionally with {@link UpstreamUnavailableException} when the upstream could not answer.
+     */
+    public CompletableFuture<Optional<MovieDetailDto>> fetchAsync(String imdbId, Plot plot) {
+        if (!enabled()) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        DetailKey key = new DetailKey(imdbId, plot);
+        CompletableFuture<Optional<MovieDetailDto>> pending = inFlight.get(key);
+        if (pending != null) {
+            return pending;
+        }
+        CompletableFuture<Optional<MovieDetailDto>> created = new CompletableFuture<>();
+        pending = inFlight.putIfAbsent(key, created);
+        if (pending != null) {
+            return pending;
+        }
+        call(key).whenComplete((movie, error) -> {
+            inFlight.remove(key, created);
+            if (error != null) {
+                created.completeExceptionally(unavailable(error));
+            } else {
+                created.complete(movie);
+            }
+        });
+        return created;
+    }
+
+    private CompletableFuture<Optional<MovieDetailDto>> call(DetailKey key) {
+        CircuitBreaker.Permit permit = circuitBreaker.tryAcquire();
+        if (!permit.granted()) {
+            return CompletableFuture.failedFuture(new UpstreamUnavailableException("Upstream circuit is open"));
+        }
+        if (!bulkhead.tryAcquire()) {
+            // Não chegou a chamar: não conta como falha
+            circuitBreaker.release(permit);
+            return CompletableFuture.failedFuture(new UpstreamUnavailableException("Too many upstream calls in flight"));
+        }
+        HttpRequest request = HttpRequest.newBuilder(uri(key))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .orTimeout(requestTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .thenApply(this::parse)
+                .whenComplete((movie, error) -> {
+                    bulkhead.release();
+                    if (error != null) {
+                        circuitBreaker.onFailure(permit);
+                    } else {
+                        circuitBreaker.onSuccess(permit);
+                    }
+                });
+    }
+
+    private URI uri(DetailKey key) {
+        // Acrescenta à query da base sem trocar o caminho (resolve("?...") descartaria o último segmento)
+        UriComponentsBuilder uri = UriComponentsBuilder.fromUri(baseUrl)
+                .queryParam("i", encode(key.imdbId()))
+                .queryParam("plot", key.plot().param());
+        if (apiKey != null && !apiKey.isBlank()) {
+            uri.queryParam("apikey", encode(apiKey));
+        }
+        // Os valores já vão codificados
+        return uri.build(true).toUri();
+    }
+
+    private Optional<MovieDetailDto> parse(HttpResponse<byte[]> response) {
+        if (response.statusCode() == 404) {
+            return Optional.empty();
+        }
+        if (response.statusCode() != 200) {
+            throw new UpstreamUnavailableException("Upstream answered " + response.statusCode());
+        }
+        try {
+            JsonNode body = objectMapper.readTree(response.body());
+            // OMDb responde 200 com Response=False tanto para id desconhecido quanto para chave ou cota
+            if (!"True".equalsIgnoreCase(body.path("Response").asText())) {
+                String error = body.path("Error").asText("");
+                if (error.contains("API key") || error.contains("limit")) {
+                    throw new UpstreamUnavailableException("Upstream refused the request: " + error);
+                }
+                return Optional.empty();
+            }
+            ObjectNode movie = (ObjectNode) body;
+            JsonNode ratings = movie.get("Ratings");
+            if (ratings != null && ratings.isArray()) {
+                movie.put("Ratings", ratings(ratings));
+            }
+            return Optional.of(movieReader.readValue(movie));
+        } catch (IOException | ClassCastException e) {
+            throw new UpstreamUnavailableException("Unreadable upstream response", e);
+        }
+    }
+
+    // Na API as notas vêm como lista de {Source, Value}; no DTO, como texto
+    private static String ratings(JsonNode ratings) {
+        StringJoiner joined = new StringJoiner(", ");
+        for (JsonNode rating : ratings) {
+            joined.add(rating.path("Source").asText() + ": " + rating.path("Value").asText());
+        }
+        return joined.toString();
+    }
+
+    private static UpstreamUnavailableException unavailable(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error instanceof UpstreamUnavailableException unavailable) {
+            return unavailable;
+        }
+        if (error instanceof TimeoutException || error instanceof HttpTimeoutException) {
+            return new UpstreamUnavailableException("Upstream timed out", error);
+        }
+        return new UpstreamUnavailableException("Upstream call failed", error);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
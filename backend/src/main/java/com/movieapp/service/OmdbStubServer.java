@@ -0,0 +1,116 @@
+package com.movieapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.movieapp.catalog.MovieCatalogSource;
+import com.movieapp.dto.MovieDetailDto;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * In-process OMDb look-alike on a loopback port, for running against an upstream without the
+ * real API. Serves {@code ?i=<imdbID>&plot=short|full} from a catalog source: the full plot is
+ * the record's plot and the short one its first sentence. Optional added latency and a failure
+ * rate (answered with 503) exercise the client's timeouts and circuit breaker.
+ */
+public class OmdbStubServer implements AutoCloseable {
+
+    private final Map<String, MovieDetailDto> movies = new HashMap<>();
+    private final ObjectMapper objectMapper;
+    private final Duration latency;
+    private final double failureRate;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public OmdbStubServer(MovieCatalogSource source, ObjectMapper objectMapper, Duration latency,
+                          double failureRate) throws IOException {
+        source.load(movie -> movies.put(movie.imdbId(), movie));
+        this.objectMapper = objectMapper;
+        this.latency = latency;
+        this.failureRate = failureRate;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public URI baseUrl() {
+        InetSocketAddress address = server.getAddress();
+        return URI.create("http://" + address.getHostString() + ":" + address.getPort() + "/");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!latency.isZero()) {
+                Thread.sleep(latency.toMillis());
+            }
+            if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            Map<String, String> params = params(exchange.getRequestURI());
+            MovieDetailDto movie = movies.get(params.getOrDefault("i", ""));
+            ObjectNode body;
+            if (movie == null) {
+                body = objectMapper.createObjectNode().put("Response", "False").put("Error", "Incorrect IMDb ID.");
+            } else {
+                body = objectMapper.valueToTree(movie);
+                if (!"full".equals(params.get("plot"))) {
+                    body.put("Plot", firstSentence(movie.plot()));
+                }
+                body.put("Response", "True");
+            }
+            byte[] bytes = objectMapper.writeValueAsBytes(body);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Map<String, String> params(URI uri) {
+        Map<String, String> params = new HashMap<>();
+        if (uri.getRawQuery() == null) {
+            return params;
+        }
+        for (String pair : uri.getRawQuery().split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(pair.substring(0, eq), URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static String firstSentence(String plot) {
+        if (plot == null) {
+            return null;
+        }
+        int end = plot.indexOf(". ");
+        return end > 0 ? plot.substring(0, end + 1) : plot;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,26 @@
+package com.movieapp.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor: the last row returned, tagged with the catalog generation it belongs to
+ * and its imdbID, so the position can still be resolved after a catalog reload.
+ */
+record PageCursor(long generation, int row, String imdbId) {
+
+    String encode() {
+        String raw = generation + ":" + row + ":" + imdbId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            return new PageCursor(Long.parseLong(parts[0]), Integer.parseInt(parts[1]), parts[2]);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.movieapp.service;
+
+import com.movieapp.catalog.MovieCatalog;
+import com.movieapp.catalog.MovieQuery;
+import com.movieapp.catalog.PersonIndex;
+import com.movieapp.catalog.RowIterator;
+import com.movieapp.catalog.SortOrder;
+import com.movieapp.catalog.TopK;
+import com.movieapp.dto.MovieDto;
+import com.movieapp.dto.PersonDto;
+import com.movieapp.dto.SearchResponseDto;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Directors, writers and actors, served from the catalog's {@link PersonIndex}. Person ids come
+ * from the current catalog and may change when it is reloaded.
+ */
+@Service
+public class PeopleService {
+
+    static final int MAX_LIMIT = 50;
+    private static final MovieQuery NO_FILTERS = new MovieQuery(null, null, null);
+
+    private final MovieCatalogManager catalogs;
+    private final MovieMetrics metrics;
+
+    public PeopleService(MovieCatalogManager catalogs, MovieMetrics metrics) {
+        this.catalogs = catalogs;
+        this.metrics = metrics;
+    }
+
+    /** People with a name word starting with {@code q}, most credited first. */
+    public List<PersonDto> search(String q, int limit) {
+        long start = System.nanoTime();
+        try {
+            PersonIndex people = catalogs.current().people();
+            int max = Math.max(1, Math.min(limit, MAX_LIMIT));
+            List<PersonDto> found = new ArrayList<>(max);
+            people.search(q, max, person -> found.add(person(people, person)));
+            return found;
+        } finally {
+            metrics.record(MovieMetrics.Method.PEOPLE_SEARCH, start);
+        }
+    }
+
+    /**
+     * A page of the titles crediting {@code id}, or empty if the catalog has no such person.
+     * {@code role}, the year range and {@code type} narrow the filmography before it is ranked.
+     */
+    public Optional<SearchResponseDto> movies(int id, PersonIndex.Role role, Integer fromYear, Integer toYear,
+                                              String type, SortOrder sort, int page) {
+        if (fromYear != null && toYear != null && fromYear > toYear) {
+            throw new IllegalArgumentException("fromYear must not be after toYear");
+        }
+        int offset = MovieService.offset(page);
+        long start = System.nanoTime();
+        try {
+            MovieCatalog catalog = catalogs.current();
+            if (id < 0 || id >= catalog.people().size()) {
+                return Optional.empty();
+            }
+            IntToLongFunction sortKey = catalog.sortKey(sort, NO_FILTERS);
+            RowIterator rows = catalog.credits(id, role, fromYear, toYear, type);
+            // Limitado pela filmografia, não pelo catálogo: o heap é alocado inteiro de uma vez
+            int capacity = (int) Math.min((long) offset + MovieService.PAGE_SIZE, rows.cost());
+            TopK top = new TopK(capacity);
+            int total = 0;
+            for (int row = rows.next(); row != RowIterator.NO_MORE_ROWS; row = rows.next()) {
+                total++;
+                top.offer(sortKey.applyAsLong(row), row);
+            }
+            int[] ordered = top.drainSorted();
+            List<MovieDto> movies = new ArrayList<>(MovieService.PAGE_SIZE);
+            for (int i = offset; i < ordered.length; i++) {
+                movies.add(catalog.summary(ordered[i]));
+            }
+            return Optional.of(new SearchResponseDto(movies, String.valueOf(total), "True"));
+        } finally {
+            metrics.record(MovieMetrics.Method.PEOPLE_MOVIES, start);
+        }
+    }
+
+    private static PersonDto person(PersonIndex people, int id) {
+        return new PersonDto(id, people.name(id),
+                people.count(id, PersonIndex.Role.DIRECTOR),
+                people.count(id, PersonIndex.Role.WRITER),
+                people.count(id, PersonIndex.Role.ACTOR));
+    }
+}
@@ -0,0 +1,36 @@
+package com.movieapp.service;
+
+import java.util.Locale;
+
+/**
+ * Plot length of a movie detail, as in OMDb's {@code plot} parameter. Catalog records carry the
+ * short plot; the full one only comes from the upstream provider.
+ */
+public enum Plot {
+
+    SHORT("short"),
+    FULL("full");
+
+    private final String param;
+
+    Plot(String param) {
+        this.param = param;
+    }
+
+    public String param() {
+        return param;
+    }
+
+    public static Plot fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return SHORT;
+        }
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        for (Plot plot : values()) {
+            if (plot.param.equals(normalized)) {
+                return plot;
+            }
+        }
+        throw new IllegalArgumentException("Unknown plot '" + value + "'");
+    }
+}
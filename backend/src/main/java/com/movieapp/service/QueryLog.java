@@ -0,0 +1,205 @@
+package com.movieapp.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sampled record of the cache keys clients ask for (searches, pages and details), kept as a
+ * {@link SpaceSaving} sketch of the heaviest hitters so {@link CacheWarmer} can replay them.
+ * The sketch is written to {@code movie.warmup.path} every {@code movie.warmup.persist-interval}
+ * and on shutdown, then decayed, so it survives restarts and follows what is popular lately.
+ *
+ * <p>Requests never wait on the sketch: a sample goes to a lock-free queue, and whichever thread
+ * gets the lock without waiting applies what is queued. When the queue is full, samples are dropped.
+ */
+@Component
+public class QueryLog implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryLog.class);
+
+    /** A key of one of the movie caches. */
+    public record CacheKey(String cache, Object key) {
+    }
+
+    // Tipo da chave de cada cache, para ler de volta o que foi persistido
+    private static final Map<String, Class<?>> KEY_TYPES = Map.of(
+            "movieSearch", SearchKey.class,
+            "movieDetail", DetailKey.class,
+            "allMovies", Integer.class);
+    private static final int MAX_PENDING = 4096;
+
+    private final ObjectMapper objectMapper;
+    private final double sampleRate;
+    private final Path path;
+    private final SpaceSaving<CacheKey> sketch;
+    private final Queue<CacheKey> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingSize = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public QueryLog(ObjectMapper objectMapper,
+                    @Value("${movie.warmup.sample-rate:0.1}") double sampleRate,
+                    @Value("${movie.warmup.capacity:1000}") int capacity,
+                    @Value("${movie.warmup.path:}") String path) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("movie.warmup.sample-rate must be between 0 and 1");
+        }
+        this.objectMapper = objectMapper;
+        this.sampleRate = sampleRate;
+        this.path = path.isBlank() ? null : Path.of(path);
+        this.sketch = new SpaceSaving<>(capacity);
+        load();
+    }
+
+    /** Counts a request for {@code key} of {@code cache}, for a {@code sample-rate} share of calls. */
+    public void record(String cache, Object key) {
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        if (pendingSize.incrementAndGet() > MAX_PENDING) {
+            // Fila cheia: é só uma amostra, perder esta não muda os mais pedidos
+            pendingSize.decrementAndGet();
+            return;
+        }
+        pending.offer(new CacheKey(cache, key));
+        if (lock.tryLock()) {
+            try {
+                drain();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /** The {@code k} most requested keys, most requested first. */
+    public List<CacheKey> top(int k) {
+        List<SpaceSaving.Counted<CacheKey>> top;
+        lock.lock();
+        try {
+            drain();
+            top = sketch.top(k);
+        } finally {
+            lock.unlock();
+        }
+        return top.stream().map(SpaceSaving.Counted::key).toList();
+    }
+
+    @Scheduled(fixedDelayString = "${movie.warmup.persist-interval:PT5M}",
+            initialDelayString = "${movie.warmup.persist-interval:PT5M}")
+    public void persistAndDecay() {
+        persist();
+        lock.lock();
+        try {
+            drain();
+            sketch.decay();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        persist();
+    }
+
+    private void persist() {
+        if (path == null) {
+            return;
+        }
+        List<SpaceSaving.Counted<CacheKey>> top;
+        lock.lock();
+        try {
+            drain();
+            top = sketch.top(sketch.size());
+        } finally {
+            lock.unlock();
+        }
+        Path temp = null;
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+            try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (SpaceSaving.Counted<CacheKey> counted : top) {
+                    ObjectNode line = objectMapper.createObjectNode()
+                            .put("cache", counted.key().cache())
+                            .put("count", counted.count());
+                    line.set("key", objectMapper.valueToTree(counted.key().key()));
+                    out.write(objectMapper.writeValueAsString(line));
+                    out.newLine();
+                }
+            }
+            // Quem lê nunca vê um arquivo pela metade
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write query log {}", path, e);
+            deleteQuietly(temp);
+        }
+    }
+
+    /** Applies the queued samples; the caller holds {@link #lock}. */
+    private void drain() {
+        for (CacheKey key = pending.poll(); key != null; key = pending.poll()) {
+            pendingSize.decrementAndGet();
+            sketch.add(key, 1);
+        }
+    }
+
+    private static void deleteQuietly(Path temp) {
+        if (temp == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException ignored) {
+            // Sobra um .tmp; a próxima gravação usa outro nome
+        }
+    }
+
+    private void load() {
+        if (path == null || !Files.exists(path)) {
+            return;
+        }
+        int loaded = 0;
+        try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                try {
+                    JsonNode node = objectMapper.readTree(line);
+                    String cache = node.path("cache").asText();
+                    Class<?> keyType = KEY_TYPES.get(cache);
+                    if (keyType != null) {
+                        Object key = objectMapper.treeToValue(node.get("key"), keyType);
+                        sketch.add(new CacheKey(cache, key), Math.max(node.path("count").asLong(), 1));
+                        loaded++;
+                    }
+                } catch (IOException | IllegalArgumentException e) {
+                    // Linha de uma versão anterior ou corrompida: as outras ainda servem
+                    log.debug("Skipping query log line '{}': {}", line, e.getMessage());
+                }
+            }
+            log.info("Query log {}: {} keys loaded", path, loaded);
+        } catch (IOException e) {
+            log.warn("Could not read query log {}", path, e);
+        }
+    }
+}
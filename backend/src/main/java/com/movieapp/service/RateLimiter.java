@@ -0,0 +1,86 @@
+package com.movieapp.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client token buckets. Each bucket is a single {@link AtomicLong} packing the time of the
+ * last refill (high 40 bits, milliseconds) and the tokens left (low 24 bits, thousandths of a
+ * token), so taking a token is one compare-and-set and a refused request writes nothing.
+ * Buckets live in a size-bounded map and expire once they would have refilled completely, so
+ * clients with spoofed addresses cannot grow it without limit and forgetting a bucket never
+ * lets a client through early.
+ */
+public class RateLimiter {
+
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long ONE_TOKEN = 1000;
+    private static final long MINUTE_MILLIS = 60_000;
+
+    private final long requestsPerMinute;
+    private final long capacity;
+    private final long fullRefillMillis;
+    private final long origin = System.nanoTime();
+    private final Cache<String, AtomicLong> buckets;
+
+    /**
+     * @param burst tokens a bucket holds, i.e. requests a client may send at once after being idle
+     */
+    public RateLimiter(int requestsPerMinute, int burst, long maxClients) {
+        if (requestsPerMinute <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Rate limit and burst must be positive");
+        }
+        this.requestsPerMinute = requestsPerMinute;
+        this.capacity = Math.min(burst * ONE_TOKEN, TOKEN_MASK);
+        this.fullRefillMillis = ceilDiv(capacity * MINUTE_MILLIS, requestsPerMinute * ONE_TOKEN);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofMillis(fullRefillMillis))
+                .build();
+    }
+
+    /**
+     * Takes a token from {@code client}'s bucket. Returns the whole tokens left when allowed, or
+     * minus the milliseconds until the next token when refused.
+     */
+    public long tryAcquire(String client) {
+        long now = (System.nanoTime() - origin) / 1_000_000;
+        AtomicLong bucket = buckets.get(client, k -> new AtomicLong(pack(now, capacity)));
+        while (true) {
+            long state = bucket.get();
+            long last = state >>> TOKEN_BITS;
+            long tokens = state & TOKEN_MASK;
+            long elapsed = Math.min(now - last, fullRefillMillis);
+            if (elapsed > 0) {
+                long refill = elapsed * requestsPerMinute * ONE_TOKEN / MINUTE_MILLIS;
+                // Sem ao menos um milésimo de token, mantém o instante para não perder a fração
+                if (refill > 0) {
+                    tokens = Math.min(capacity, tokens + refill);
+                    last = now;
+                }
+            }
+            if (tokens < ONE_TOKEN) {
+                return -Math.max(1, ceilDiv((ONE_TOKEN - tokens) * MINUTE_MILLIS, requestsPerMinute * ONE_TOKEN));
+            }
+            if (bucket.compareAndSet(state, pack(last, tokens - ONE_TOKEN))) {
+                return (tokens - ONE_TOKEN) / ONE_TOKEN;
+            }
+        }
+    }
+
+    public long trackedClients() {
+        return buckets.estimatedSize();
+    }
+
+    private static long pack(long millis, long tokens) {
+        return (millis << TOKEN_BITS) | tokens;
+    }
+
+    private static long ceilDiv(long a, long b) {
+        return (a + b - 1) / b;
+    }
+}
@@ -0,0 +1,11 @@
+package com.movieapp.service;
+
+import com.movieapp.catalog.MovieQuery;
+import com.movieapp.catalog.SortOrder;
+
+/**
+ * Cache key of the {@code movieSearch} cache. Keeping the query as a value lets a catalog
+ * reload decide which cached searches an updated record can affect.
+ */
+public record SearchKey(MovieQuery query, SortOrder sort, int page, boolean facets) {
+}
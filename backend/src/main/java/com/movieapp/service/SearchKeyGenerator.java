@@ -0,0 +1,19 @@
+package com.movieapp.service;
+
+import com.movieapp.catalog.MovieQuery;
+import com.movieapp.catalog.SortOrder;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+@Component("searchKeyGenerator")
+public class SearchKeyGenerator implements KeyGenerator {
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        // "Matrix", "matrix " e "MATRIX" caem na mesma entrada
+        return new SearchKey(((MovieQuery) params[0]).normalized(), (SortOrder) params[1], (Integer) params[2],
+                (Boolean) params[3]);
+    }
+}
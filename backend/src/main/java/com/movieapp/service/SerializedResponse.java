@@ -0,0 +1,17 @@
+package com.movieapp.service;
+
+/**
+ * A response body ready to be written: UTF-8 JSON, its gzip encoding when that is worth it
+ * ({@code null} otherwise) and a strong ETag (quoted) of the JSON bytes. The gzip body has
+ * its own tag, {@link #gzipEtag()}, since a strong ETag names one exact byte sequence.
+ */
+public record SerializedResponse(byte[] json, byte[] gzip, String etag) {
+
+    public String gzipEtag() {
+        return etag.substring(0, etag.length() - 1) + "-gz\"";
+    }
+
+    long bytes() {
+        return json.length + (gzip != null ? gzip.length : 0) + etag.length() + 64L;
+    }
+}
@@ -0,0 +1,125 @@
+package com.movieapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Optional cache of serialized responses, so a hit skips Jackson (and gzip) entirely. Entries
+ * are keyed by cache name plus the same key the object caches use, which lets
+ * {@link CatalogCacheInvalidator} evict both with the same rules.
+ */
+@Component
+public class SerializedResponseCache {
+
+    private record Key(String cache, Object key) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int gzipMinSize;
+    private final Cache<Key, SerializedResponse> cache;
+
+    public SerializedResponseCache(ObjectMapper objectMapper,
+                                   @Value("${movie.response-cache.enabled:true}") boolean enabled,
+                                   @Value("${movie.response-cache.max-size:32MB}") DataSize maxSize,
+                                   @Value("${movie.response-cache.expire-after-write:PT10M}") Duration expireAfterWrite,
+                                   @Value("${movie.response-cache.gzip-min-size:1KB}") DataSize gzipMinSize) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.gzipMinSize = (int) gzipMinSize.toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Key key, SerializedResponse response) -> (int) Math.min(response.bytes(), Integer.MAX_VALUE))
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    public SerializedResponse getIfPresent(String cacheName, Object key) {
+        return cache.getIfPresent(new Key(cacheName, key));
+    }
+
+    /**
+     * Cached bytes for {@code key}, serializing what {@code value} returns on a miss. Concurrent
+     * misses share one computation. A {@code null} value is returned as {@code null} and not cached.
+     */
+    public SerializedResponse get(String cacheName, Object key, Supplier<?> value) {
+        return cache.get(new Key(cacheName, key), k -> {
+            Object body = value.get();
+            return body != null ? serialize(body) : null;
+        });
+    }
+
+    public void evictWhere(String cacheName, Predicate<Object> affected) {
+        List<Key> keys = new ArrayList<>();
+        for (Key key : cache.asMap().keySet()) {
+            if (key.cache().equals(cacheName) && affected.test(key.key())) {
+                keys.add(key);
+            }
+        }
+        cache.invalidateAll(keys);
+    }
+
+    public void evict(String cacheName, Object key) {
+        cache.invalidate(new Key(cacheName, key));
+    }
+
+    public Cache<?, ?> nativeCache() {
+        return cache;
+    }
+
+    private SerializedResponse serialize(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            byte[] gzip = json.length >= gzipMinSize ? gzip(json) : null;
+            // Só vale guardar o gzip se ele realmente encolher a resposta
+            if (gzip != null && gzip.length >= json.length) {
+                gzip = null;
+            }
+            return new SerializedResponse(json, gzip, etag(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + body.getClass().getSimpleName(), e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 3 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
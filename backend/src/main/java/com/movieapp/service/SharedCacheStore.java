@@ -0,0 +1,53 @@
+package com.movieapp.service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Second cache tier behind the local Caffeine caches, shared by every instance that points at
+ * the same backend. Keys and values are {@link CacheCodec} bytes. Implementations may lose
+ * entries at any time; a failed call is treated by {@link TwoTierCache} as a miss.
+ */
+public interface SharedCacheStore extends AutoCloseable {
+
+    /** No shared tier: every read misses and writes are dropped. */
+    SharedCacheStore NONE = new SharedCacheStore() {
+        @Override
+        public byte[] get(String cache, byte[] key) {
+            return null;
+        }
+
+        @Override
+        public void put(String cache, byte[] key, byte[] value, Duration ttl) {
+        }
+
+        @Override
+        public void evict(String cache, byte[] key) {
+        }
+
+        @Override
+        public void clear(String cache) {
+        }
+
+        @Override
+        public List<byte[]> keys(String cache) {
+            return List.of();
+        }
+    };
+
+    /** The value stored for {@code key}, or {@code null} if absent or expired. */
+    byte[] get(String cache, byte[] key);
+
+    void put(String cache, byte[] key, byte[] value, Duration ttl);
+
+    void evict(String cache, byte[] key);
+
+    void clear(String cache);
+
+    /** Keys of the live entries of {@code cache}, for selective invalidation after a reload. */
+    List<byte[]> keys(String cache);
+
+    @Override
+    default void close() {
+    }
+}
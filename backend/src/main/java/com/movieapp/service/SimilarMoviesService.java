@@ -0,0 +1,136 @@
+package com.movieapp.service;
+
+import com.movieapp.catalog.MovieCatalog;
+import com.movieapp.catalog.SimilarityIndex;
+import com.movieapp.dto.MovieDto;
+import com.movieapp.dto.SearchResponseDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * "More like this": serves the precomputed {@link SimilarityIndex} of the catalog. The index is
+ * built off the request path, at startup and after every reload, on a dedicated fork-join pool;
+ * until a reloaded catalog's index is ready, the previous one keeps answering, with its rows
+ * mapped to the new catalog by imdbID.
+ */
+@Service
+public class SimilarMoviesService implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SimilarMoviesService.class);
+
+    private record Built(MovieCatalog catalog, SimilarityIndex index) {
+    }
+
+    private final MovieCatalogManager catalogs;
+    private final MovieMetrics metrics;
+    private final int topN;
+    private final ForkJoinPool pool;
+    private final ExecutorService builder;
+    private final AtomicReference<Built> built = new AtomicReference<>();
+
+    public SimilarMoviesService(MovieCatalogManager catalogs,
+                                MovieMetrics metrics,
+                                @Value("${movie.similar.top-n:10}") int topN,
+                                @Value("${movie.similar.parallelism:0}") int parallelism) {
+        if (topN <= 0) {
+            throw new IllegalArgumentException("movie.similar.top-n must be positive");
+        }
+        this.catalogs = catalogs;
+        this.metrics = metrics;
+        this.topN = topN;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        // Uma construção por vez; recargas seguidas só constroem o catálogo mais recente
+        this.builder = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "similarity-build");
+            thread.setDaemon(true);
+            return thread;
+        });
+        schedule(catalogs.current());
+    }
+
+    /**
+     * Up to {@code movie.similar.top-n} titles most like {@code imdbId}, most similar first, or
+     * empty if the catalog does not have it.
+     *
+     * @throws IndexNotReadyException if the first index is still being built
+     */
+    public Optional<SearchResponseDto> similar(String imdbId) {
+        long start = System.nanoTime();
+        try {
+            MovieCatalog catalog = catalogs.current();
+            if (catalog.rowOf(imdbId) < 0) {
+                return Optional.empty();
+            }
+            Built ready = built.get();
+            if (ready == null) {
+                throw new IndexNotReadyException("Similar titles are still being computed");
+            }
+            List<MovieDto> movies = new ArrayList<>(topN);
+            int row = ready.catalog().rowOf(imdbId);
+            if (row >= 0) {
+                ready.index().neighbors(row, neighbor -> {
+                    if (ready.catalog() == catalog) {
+                        movies.add(catalog.summary(neighbor));
+                    } else {
+                        // Índice de um catálogo anterior: o vizinho pode ter mudado de linha ou saído
+                        int current = catalog.rowOf(ready.catalog().store().imdbId(neighbor));
+                        if (current >= 0) {
+                            movies.add(catalog.summary(current));
+                        }
+                    }
+                });
+            }
+            return Optional.of(new SearchResponseDto(movies, String.valueOf(movies.size()), "True"));
+        } finally {
+            metrics.record(MovieMetrics.Method.SIMILAR, start);
+        }
+    }
+
+    @EventListener
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        Built previous = built.get();
+        if (event.diff().isEmpty() && previous != null && previous.catalog() == event.previous()) {
+            // Mesmo conteúdo nas mesmas linhas: o índice vale para o novo catálogo, e apontá-lo
+            // para ele devolve as consultas ao caminho direto, sem rowOf por vizinho
+            built.compareAndSet(previous, new Built(event.current(), previous.index()));
+            return;
+        }
+        schedule(event.current());
+    }
+
+    private void schedule(MovieCatalog catalog) {
+        builder.execute(() -> {
+            if (catalog != catalogs.current()) {
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                SimilarityIndex index = SimilarityIndex.build(catalog.store(), topN, pool);
+                built.set(new Built(catalog, index));
+                log.info("Similarity index built: {} titles, top {}, {} threads, {} ms", catalog.size(), topN,
+                        pool.getParallelism(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            } catch (RuntimeException e) {
+                // Continua servindo o índice anterior, se houver
+                log.warn("Similarity index build failed", e);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        builder.shutdownNow();
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,98 @@
+package com.movieapp.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving heavy hitters: at most {@code capacity} counters, and a key that is not counted
+ * takes over the smallest counter, inheriting its count as the error bound. Any key seen more
+ * than {@code total / capacity} times is guaranteed to be kept. Not thread-safe.
+ */
+final class SpaceSaving<K> {
+
+    record Counted<K>(K key, long count, long error) {
+    }
+
+    private static final class Counter<K> {
+        final K key;
+        final long sequence;
+        long count;
+        long error;
+
+        Counter(K key, long sequence, long count, long error) {
+            this.key = key;
+            this.sequence = sequence;
+            this.count = count;
+            this.error = error;
+        }
+    }
+
+    private final int capacity;
+    private final Map<K, Counter<K>> counters;
+    // Ordem crescente de contagem; a sequência desempata e mantém as entradas distintas
+    private final TreeSet<Counter<K>> byCount = new TreeSet<>(
+            Comparator.<Counter<K>>comparingLong(counter -> counter.count).thenComparingLong(counter -> counter.sequence));
+    private long sequence;
+
+    SpaceSaving(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 4 / 3 + 1);
+    }
+
+    void add(K key, long weight) {
+        Counter<K> counter = counters.get(key);
+        if (counter != null) {
+            byCount.remove(counter);
+            counter.count += weight;
+            byCount.add(counter);
+            return;
+        }
+        long inherited = 0;
+        if (counters.size() == capacity) {
+            Counter<K> smallest = byCount.pollFirst();
+            counters.remove(smallest.key);
+            inherited = smallest.count;
+        }
+        counter = new Counter<>(key, sequence++, inherited + weight, inherited);
+        counters.put(key, counter);
+        byCount.add(counter);
+    }
+
+    /** Up to {@code k} keys, highest count first. */
+    List<Counted<K>> top(int k) {
+        List<Counted<K>> top = new ArrayList<>(Math.min(k, counters.size()));
+        Iterator<Counter<K>> descending = byCount.descendingIterator();
+        while (top.size() < k && descending.hasNext()) {
+            Counter<K> counter = descending.next();
+            top.add(new Counted<>(counter.key, counter.count, counter.error));
+        }
+        return top;
+    }
+
+    /** Halves every count, so keys that stopped being asked for fade out; drops those at zero. */
+    void decay() {
+        List<Counter<K>> all = new ArrayList<>(byCount);
+        byCount.clear();
+        for (Counter<K> counter : all) {
+            counter.count >>= 1;
+            counter.error >>= 1;
+            if (counter.count == 0) {
+                counters.remove(counter.key);
+            } else {
+                byCount.add(counter);
+            }
+        }
+    }
+
+    int size() {
+        return counters.size();
+    }
+}
@@ -0,0 +1,311 @@
+package com.movieapp.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NullValue;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Caffeine cache (first tier) backed by a {@link SharedCacheStore} (second tier): a local miss
+ * reads the shared entry before loading, and what gets loaded is written to both. Evictions
+ * reach the shared tier and are published on the {@link InvalidationBus}, so the other
+ * instances drop their local copies too. The shared tier is an optimization only; when it
+ * fails, the request loads as if it had missed.
+ *
+ * <p>Shared entries are scoped by the catalog version the instance serves, so an instance that
+ * has not reloaded yet never hands its older responses to one that has (nor the reverse).
+ */
+public class TwoTierCache extends CaffeineCache {
+
+    private static final Logger log = LoggerFactory.getLogger(TwoTierCache.class);
+    static final int MAX_SELECTIVE_EVICTIONS = 1024;
+
+    private final SharedCacheStore shared;
+    private final InvalidationBus bus;
+    private final Duration ttl;
+    private final Supplier<String> version;
+    private final boolean sharing;
+    private volatile Scope scope = new Scope(null, null);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    /** Name of this cache in the shared store for one catalog version. */
+    private record Scope(String version, String name) {
+    }
+
+    public TwoTierCache(String name, Cache<Object, Object> cache, SharedCacheStore shared, InvalidationBus bus,
+                        Duration ttl, Supplier<String> version) {
+        super(name, cache, true);
+        this.shared = shared;
+        this.bus = bus;
+        this.ttl = ttl;
+        this.version = version;
+        this.sharing = shared != SharedCacheStore.NONE;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        if (!sharing || !CacheCodec.supportsKey(key)) {
+            return super.get(key, valueLoader);
+        }
+        return super.get(key, () -> {
+            byte[] encodedKey = CacheCodec.encodeKey(key);
+            String sharedName = sharedName();
+            Object value = readShared(sharedName, encodedKey);
+            if (value != null) {
+                return value instanceof NullValue ? null : (T) value;
+            }
+            T loaded = valueLoader.call();
+            writeShared(sharedName, encodedKey, loaded);
+            return loaded;
+        });
+    }
+
+    /**
+     * Bulk counterpart of {@link #get(Object, Callable)}: local misses are looked up in the shared
+     * tier, only what is still missing goes to {@code loader} in one call, and what it returns is
+     * written to both tiers. Values are as stored locally, {@link NullValue} for a cached miss;
+     * keys the loader leaves out are absent from the result and not cached.
+     */
+    public Map<Object, Object> getAll(Set<?> keys, Function<Set<?>, Map<Object, Object>> loader) {
+        if (!sharing) {
+            return getNativeCache().getAll(keys, loader);
+        }
+        return getNativeCache().getAll(keys, missing -> {
+            String sharedName = sharedName();
+            Map<Object, Object> found = new HashMap<>(missing.size() * 2);
+            Map<Object, byte[]> encodedKeys = new HashMap<>(missing.size() * 2);
+            Set<Object> remaining = new LinkedHashSet<>();
+            for (Object key : missing) {
+                Object value = null;
+                if (CacheCodec.supportsKey(key)) {
+                    byte[] encodedKey = CacheCodec.encodeKey(key);
+                    encodedKeys.put(key, encodedKey);
+                    value = readShared(sharedName, encodedKey);
+                }
+                if (value != null) {
+                    found.put(key, value);
+                } else {
+                    remaining.add(key);
+                }
+            }
+            if (!remaining.isEmpty()) {
+                Map<Object, Object> loaded = loader.apply(remaining);
+                loaded.forEach((key, value) -> {
+                    byte[] encodedKey = encodedKeys.get(key);
+                    if (encodedKey != null) {
+                        writeShared(sharedName, encodedKey, value);
+                    }
+                });
+                found.putAll(loaded);
+            }
+            return found;
+        });
+    }
+
+    /** Runs {@code loader} for a refresh-ahead of the local tier and writes the result to the shared tier too. */
+    public Object reload(Object key, Callable<Object> loader) throws Exception {
+        String sharedName = sharing ? sharedName() : null;
+        Object value = loader.call();
+        if (sharing && CacheCodec.supportsKey(key)) {
+            writeShared(sharedName, CacheCodec.encodeKey(key), value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        super.put(key, value);
+        putShared(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = super.putIfAbsent(key, value);
+        if (existing == null) {
+            putShared(key, value);
+        }
+        return existing;
+    }
+
+    private void putShared(Object key, Object value) {
+        if (sharing && CacheCodec.supportsKey(key)) {
+            String sharedName = sharedName();
+            writeShared(sharedName, CacheCodec.encodeKey(key), value);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        super.evict(key);
+        evictShared(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = super.evictIfPresent(key);
+        evictShared(key);
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        clearShared();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean present = super.invalidate();
+        clearShared();
+        return present;
+    }
+
+    /**
+     * Evicts every key of either tier that {@code affected} accepts, on this instance, in the
+     * shared tier and, through the bus, on the other instances. Past
+     * {@value #MAX_SELECTIVE_EVICTIONS} keys the whole cache is cleared instead.
+     */
+    public void evictWhere(Predicate<Object> affected) {
+        Set<Object> keys = new LinkedHashSet<>();
+        for (Object key : getNativeCache().asMap().keySet()) {
+            if (affected.test(key)) {
+                keys.add(key);
+            }
+        }
+        if (sharing) {
+            try {
+                for (byte[] encodedKey : shared.keys(sharedName())) {
+                    Object key = CacheCodec.decodeKey(encodedKey);
+                    if (affected.test(key)) {
+                        keys.add(key);
+                    }
+                }
+            } catch (RuntimeException e) {
+                sharedFailure("list", e);
+            }
+        }
+        if (keys.size() > MAX_SELECTIVE_EVICTIONS) {
+            // Um clear custa uma remoção no L2 e um datagrama por peer, em vez de um por chave
+            clear();
+            return;
+        }
+        keys.forEach(this::evict);
+    }
+
+    /** Evicts {@code key} from this instance only, for an eviction another instance published. */
+    public void evictLocal(Object key) {
+        super.evict(key);
+    }
+
+    /** Clears this instance's tier only, for a clear another instance published. */
+    public void clearLocal() {
+        super.clear();
+    }
+
+    public long sharedHits() {
+        return hits.sum();
+    }
+
+    public long sharedMisses() {
+        return misses.sum();
+    }
+
+    public long sharedErrors() {
+        return errors.sum();
+    }
+
+    private Object readShared(String sharedName, byte[] encodedKey) {
+        try {
+            byte[] value = shared.get(sharedName, encodedKey);
+            if (value != null) {
+                Object decoded = CacheCodec.decodeValue(value);
+                hits.increment();
+                return decoded;
+            }
+        } catch (RuntimeException e) {
+            sharedFailure("read", e);
+            return null;
+        }
+        misses.increment();
+        return null;
+    }
+
+    private void writeShared(String sharedName, byte[] encodedKey, Object value) {
+        // O catálogo mudou durante a carga: o valor pode ser da versão anterior
+        if (!sharedName.equals(sharedName())) {
+            return;
+        }
+        try {
+            shared.put(sharedName, encodedKey, CacheCodec.encodeValue(value), ttl);
+        } catch (RuntimeException e) {
+            sharedFailure("write", e);
+        }
+    }
+
+    private void evictShared(Object key) {
+        if (!CacheCodec.supportsKey(key)) {
+            // Sem forma binária a chave não vai para o segundo nível nem para os outros nós
+            return;
+        }
+        byte[] encodedKey = CacheCodec.encodeKey(key);
+        try {
+            shared.evict(sharedName(), encodedKey);
+        } catch (RuntimeException e) {
+            sharedFailure("evict", e);
+        }
+        bus.publish(getName(), encodedKey);
+    }
+
+    private void clearShared() {
+        try {
+            shared.clear(sharedName());
+        } catch (RuntimeException e) {
+            sharedFailure("clear", e);
+        }
+        bus.publish(getName(), null);
+    }
+
+    /** {@code <cache>-<hash of the catalog version>}, safe as a directory or key prefix. */
+    private String sharedName() {
+        String current = version.get();
+        Scope cached = scope;
+        if (!current.equals(cached.version())) {
+            cached = new Scope(current, getName() + "-" + hash(current));
+            scope = cached;
+        }
+        return cached.name();
+    }
+
+    private static String hash(String version) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(version.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void sharedFailure(String operation, RuntimeException e) {
+        errors.increment();
+        log.debug("Shared cache {} of {} failed: {}", operation, getName(), e.toString());
+    }
+}
@@ -0,0 +1,232 @@
+package com.movieapp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link InvalidationBus} over UDP datagrams sent straight to a fixed list of peers: one small
+ * packet per eviction, delivered in well under a millisecond on a LAN, with no broker. Every
+ * instance can share the same peer list, itself included; its own messages are recognized by a
+ * random node id and ignored.
+ *
+ * <p>A packet is only applied when it comes from one of the peers' addresses and carries a
+ * valid HMAC-SHA256 of its contents under the shared secret, with a timestamp within
+ * {@link #MAX_AGE_MILLIS} of this instance's clock, so a forged or replayed clear is dropped.
+ */
+public class UdpInvalidationBus implements InvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(UdpInvalidationBus.class);
+
+    private static final short MAGIC = 0x4D49; // "MI"
+    private static final byte VERSION = 2;
+    private static final byte EVICT = 0;
+    private static final byte CLEAR = 1;
+    private static final int MAX_PACKET = 8 * 1024;
+    private static final String HMAC = "HmacSHA256";
+    private static final int MAC_LENGTH = 32;
+    private static final long MAX_AGE_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    // Um remetente desconhecido faz resolver os peers de novo, no máximo uma vez por intervalo
+    private static final long RESOLVE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    /** {@code host:port} of an instance to notify. */
+    public record Peer(String host, int port) {
+        public static Peer parse(String value) {
+            int colon = value.lastIndexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("Invalidation peer must be host:port, got '" + value + "'");
+            }
+            return new Peer(value.substring(0, colon).trim(), Integer.parseInt(value.substring(colon + 1).trim()));
+        }
+    }
+
+    private final long nodeId = ThreadLocalRandom.current().nextLong();
+    private final DatagramSocket socket;
+    private final List<Peer> peers;
+    private final SecretKeySpec secret;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final Thread receiver;
+    // Só a thread receptora mexe nestes
+    private Set<InetAddress> peerAddresses = Set.of();
+    private long resolvedAt;
+
+    /**
+     * @param bindAddress local address to listen on; blank listens on every interface
+     * @param secret      shared by all instances; packets signed with another secret are dropped
+     */
+    public UdpInvalidationBus(String bindAddress, int port, List<Peer> peers, String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalArgumentException("A cache invalidation secret is required");
+        }
+        this.secret = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC);
+        this.peers = List.copyOf(peers);
+        try {
+            InetSocketAddress local = bindAddress == null || bindAddress.isBlank()
+                    ? new InetSocketAddress(port)
+                    : new InetSocketAddress(InetAddress.getByName(bindAddress.trim()), port);
+            this.socket = new DatagramSocket(local);
+        } catch (UnknownHostException | SocketException e) {
+            throw new UncheckedIOException("Could not bind cache invalidation port " + port, e);
+        }
+        this.receiver = new Thread(this::receive, "cache-invalidation");
+        this.receiver.setDaemon(true);
+        this.receiver.start();
+        log.info("Cache invalidation listening on UDP {}, {} peers", socket.getLocalSocketAddress(), this.peers.size());
+    }
+
+    @Override
+    public void publish(String cache, byte[] key) {
+        byte[] name = cache.getBytes(StandardCharsets.UTF_8);
+        int body = 2 + 1 + Long.BYTES + Long.BYTES + 1 + name.length + 1 + (key != null ? key.length : 0);
+        if (body + MAC_LENGTH > MAX_PACKET) {
+            // Chave grande demais para um datagrama: os outros esvaziam o cache inteiro
+            publish(cache, null);
+            return;
+        }
+        ByteBuffer packet = ByteBuffer.allocate(body + MAC_LENGTH)
+                .putShort(MAGIC)
+                .put(VERSION)
+                .putLong(nodeId)
+                .putLong(System.currentTimeMillis())
+                .put((byte) name.length)
+                .put(name)
+                .put(key != null ? EVICT : CLEAR);
+        if (key != null) {
+            packet.put(key);
+        }
+        packet.put(mac(packet.array(), body));
+        for (Peer peer : peers) {
+            try {
+                // Resolve a cada envio: em contêineres o nome do peer pode aparecer depois desta instância
+                socket.send(new DatagramPacket(packet.array(), packet.capacity(),
+                        new InetSocketAddress(peer.host(), peer.port())));
+            } catch (IOException | IllegalArgumentException e) {
+                log.debug("Could not send cache invalidation to {}:{}: {}", peer.host(), peer.port(), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /** The bound port, which differs from the configured one when that was 0. */
+    public int port() {
+        return socket.getLocalPort();
+    }
+
+    @Override
+    public void close() {
+        socket.close();
+    }
+
+    private void receive() {
+        byte[] buffer = new byte[MAX_PACKET];
+        DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+        while (!socket.isClosed()) {
+            try {
+                packet.setLength(buffer.length);
+                socket.receive(packet);
+                if (!fromPeer(packet.getAddress())) {
+                    log.debug("Ignoring cache invalidation from {}, not a configured peer", packet.getAddress());
+                } else if (!authentic(buffer, packet.getLength())) {
+                    log.debug("Ignoring cache invalidation from {} with an invalid signature", packet.getAddress());
+                } else {
+                    dispatch(ByteBuffer.wrap(buffer, 0, packet.getLength() - MAC_LENGTH));
+                }
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    log.debug("Cache invalidation receive failed: {}", e.getMessage());
+                }
+            } catch (RuntimeException e) {
+                // Pacote malformado ou de outra versão: descartado
+                log.debug("Ignoring cache invalidation packet: {}", e.toString());
+            }
+        }
+    }
+
+    private boolean fromPeer(InetAddress sender) {
+        if (peerAddresses.contains(sender)) {
+            return true;
+        }
+        long now = System.nanoTime();
+        if (resolvedAt != 0 && now - resolvedAt < RESOLVE_INTERVAL_NANOS) {
+            return false;
+        }
+        resolvedAt = now;
+        Set<InetAddress> resolved = new HashSet<>();
+        for (Peer peer : peers) {
+            try {
+                resolved.addAll(Arrays.asList(InetAddress.getAllByName(peer.host())));
+            } catch (UnknownHostException e) {
+                log.debug("Could not resolve cache invalidation peer {}: {}", peer.host(), e.getMessage());
+            }
+        }
+        peerAddresses = resolved;
+        return resolved.contains(sender);
+    }
+
+    private boolean authentic(byte[] packet, int length) {
+        if (length <= MAC_LENGTH) {
+            return false;
+        }
+        int body = length - MAC_LENGTH;
+        return MessageDigest.isEqual(mac(packet, body), Arrays.copyOfRange(packet, body, length));
+    }
+
+    private byte[] mac(byte[] packet, int length) {
+        try {
+            // Mac não é thread-safe; criar um por pacote custa pouco perto do envio
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(secret);
+            mac.update(packet, 0, length);
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void dispatch(ByteBuffer packet) {
+        if (packet.getShort() != MAGIC || packet.get() != VERSION || packet.getLong() == nodeId) {
+            return;
+        }
+        long sentAt = packet.getLong();
+        if (Math.abs(System.currentTimeMillis() - sentAt) > MAX_AGE_MILLIS) {
+            log.debug("Ignoring cache invalidation sent {} ms away from this clock", System.currentTimeMillis() - sentAt);
+            return;
+        }
+        byte[] name = new byte[packet.get() & 0xFF];
+        packet.get(name);
+        String cache = new String(name, StandardCharsets.UTF_8);
+        byte[] key = null;
+        if (packet.get() == EVICT) {
+            key = new byte[packet.remaining()];
+            packet.get(key);
+        }
+        for (Listener listener : listeners) {
+            listener.onInvalidation(cache, key);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.movieapp.service;
+
+/**
+ * The upstream provider could not answer: it timed out, failed, was at its concurrency limit or
+ * its circuit is open. Never cached, so the next request tries again.
+ */
+public class UpstreamUnavailableException extends RuntimeException {
+
+    public UpstreamUnavailableException(String message) {
+        super(message);
+    }
+
+    public UpstreamUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
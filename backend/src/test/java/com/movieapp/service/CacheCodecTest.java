@@ -0,0 +1,117 @@
+package com.movieapp.service;
+
+import com.movieapp.catalog.MovieQuery;
+import com.movieapp.catalog.SortOrder;
+import com.movieapp.dto.MovieDetailDto;
+import com.movieapp.dto.MovieDto;
+import com.movieapp.dto.SearchResponseDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NullValue;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class CacheCodecTest {
+
+    @Test
+    void searchKeysRoundTrip() {
+        for (SortOrder sort : SortOrder.values()) {
+            assertRoundTrip(new SearchKey(new MovieQuery("the matrix", "1999", "movie", 2), sort, 3, true));
+        }
+        assertRoundTrip(new SearchKey(new MovieQuery(null, null, null, 0), SortOrder.RELEVANCE, 1, false));
+        assertRoundTrip(new SearchKey(new MovieQuery("ação", "", "series", 1), SortOrder.YEAR, Integer.MAX_VALUE, false));
+    }
+
+    @Test
+    void detailKeysRoundTrip() {
+        for (Plot plot : Plot.values()) {
+            assertRoundTrip(new DetailKey("tt0133093", plot));
+        }
+    }
+
+    @Test
+    void pageKeysRoundTrip() {
+        for (int page : new int[] {1, 0, -1, 127, 128, Integer.MAX_VALUE, Integer.MIN_VALUE}) {
+            assertRoundTrip(page);
+        }
+    }
+
+    @Test
+    void unsupportedKeysAreRejected() {
+        assertThat(CacheCodec.supportsKey("tt0133093")).isFalse();
+        assertThatIllegalArgumentException().isThrownBy(() -> CacheCodec.encodeKey("tt0133093"));
+        assertThatIllegalArgumentException().isThrownBy(() -> CacheCodec.decodeKey(CacheCodec.encodeValue(null)));
+    }
+
+    @Test
+    void searchResponsesRoundTrip() {
+        List<MovieDto> movies = List.of(
+                new MovieDto("tt0133093", "The Matrix", "1999", "movie", "https://example.com/matrix.jpg"),
+                new MovieDto("tt0903747", "Breaking Bad", "2008–2013", "series", null));
+        assertThat(roundTrip(new SearchResponseDto(movies, "2", "True")))
+                .isEqualTo(new SearchResponseDto(movies, "2", "True"));
+        assertThat(roundTrip(new SearchResponseDto(movies, "40", "True", "opaque-cursor")))
+                .isEqualTo(new SearchResponseDto(movies, "40", "True", "opaque-cursor"));
+        assertThat(roundTrip(new SearchResponseDto(List.of(), "0", "False")))
+                .isEqualTo(new SearchResponseDto(List.of(), "0", "False"));
+    }
+
+    @Test
+    void facetsRoundTripInOrder() {
+        Map<String, Integer> years = new LinkedHashMap<>();
+        years.put("1999", 12);
+        years.put("2003", 3);
+        years.put("1994", 1);
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        facets.put("year", years);
+        facets.put("type", Map.of("movie", 16));
+        facets.put("genre", Map.of());
+        SearchResponseDto response = new SearchResponseDto(List.of(), "16", "True", null, facets);
+
+        SearchResponseDto decoded = (SearchResponseDto) roundTrip(response);
+
+        assertThat(decoded).isEqualTo(response);
+        assertThat(decoded.facets().keySet()).containsExactly("year", "type", "genre");
+        assertThat(decoded.facets().get("year").keySet()).containsExactly("1999", "2003", "1994");
+    }
+
+    @Test
+    void movieDetailsRoundTrip() {
+        MovieDetailDto full = new MovieDetailDto("tt0133093", "The Matrix", "1999", "R", "31 Mar 1999", "136 min",
+                "Action, Sci-Fi", "Lana Wachowski, Lilly Wachowski", "Lilly Wachowski, Lana Wachowski",
+                "Keanu Reeves, Laurence Fishburne", "A computer hacker learns about the true nature of reality.",
+                "English", "United States", "Won 4 Oscars", "https://example.com/matrix.jpg",
+                "[{\"Source\":\"Internet Movie Database\",\"Value\":\"8.7/10\"}]", "73", "8.7", "2,000,000",
+                "movie", "21 Sep 1999", "$172,076,928", "Warner Bros.", "N/A");
+        MovieDetailDto sparse = new MovieDetailDto("tt0000001", "Carmencita", null, null, null, null, null, null,
+                null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null);
+
+        assertThat(roundTrip(full)).isEqualTo(full);
+        assertThat(roundTrip(sparse)).isEqualTo(sparse);
+    }
+
+    @Test
+    void cachedMissesRoundTripAsNullValue() {
+        assertThat(roundTrip(null)).isSameAs(NullValue.INSTANCE);
+        assertThat(roundTrip(NullValue.INSTANCE)).isSameAs(NullValue.INSTANCE);
+    }
+
+    @Test
+    void unsupportedValuesAreRejected() {
+        assertThatIllegalArgumentException().isThrownBy(() -> CacheCodec.encodeValue("The Matrix"));
+        assertThatIllegalArgumentException().isThrownBy(() -> CacheCodec.decodeValue(CacheCodec.encodeKey(1)));
+    }
+
+    private static void assertRoundTrip(Object key) {
+        assertThat(CacheCodec.supportsKey(key)).isTrue();
+        assertThat(CacheCodec.decodeKey(CacheCodec.encodeKey(key))).isEqualTo(key);
+    }
+
+    private static Object roundTrip(Object value) {
+        return CacheCodec.decodeValue(CacheCodec.encodeValue(value));
+    }
+}
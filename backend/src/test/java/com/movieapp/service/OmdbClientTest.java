@@ -0,0 +1,145 @@
+package com.movieapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.movieapp.catalog.MovieCatalogSource;
+import com.movieapp.dto.MovieDetailDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Drives {@link OmdbClient} against an {@link OmdbStubServer} on loopback. */
+class OmdbClientTest {
+
+    private static final String PLOT = "A hacker learns the truth about his world. He joins the rebellion against its makers.";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<OmdbStubServer> stubs = new ArrayList<>();
+
+    @AfterEach
+    void closeStubs() {
+        stubs.forEach(OmdbStubServer::close);
+    }
+
+    @Test
+    void fetchesTheRequestedPlot() throws IOException {
+        OmdbClient client = client(stub(Duration.ZERO, 0), 4, new CircuitBreaker(5, Duration.ofSeconds(30)));
+
+        assertThat(client.fetch("tt0133093", Plot.FULL)).map(MovieDetailDto::plot).contains(PLOT);
+        assertThat(client.fetch("tt0133093", Plot.SHORT)).map(MovieDetailDto::plot)
+                .contains("A hacker learns the truth about his world.");
+        assertThat(client.fetch("tt0133093", Plot.SHORT)).map(MovieDetailDto::title).contains("The Matrix");
+        assertThat(client.fetch("tt9999999", Plot.SHORT)).isEmpty();
+    }
+
+    @Test
+    void concurrentLookupsOfOneMovieShareARequest() throws IOException {
+        OmdbClient client = client(stub(Duration.ofMillis(300), 0), 4, new CircuitBreaker(5, Duration.ofSeconds(30)));
+
+        CompletableFuture<Optional<MovieDetailDto>> first = client.fetchAsync("tt0133093", Plot.FULL);
+        CompletableFuture<Optional<MovieDetailDto>> second = client.fetchAsync("tt0133093", Plot.FULL);
+        assertThat(second).isSameAs(first);
+        assertThat(client.inFlightCalls()).isEqualTo(1);
+
+        // O outro tamanho de sinopse é outra resposta, com a sua própria chamada
+        CompletableFuture<Optional<MovieDetailDto>> shortPlot = client.fetchAsync("tt0133093", Plot.SHORT);
+        assertThat(shortPlot).isNotSameAs(first);
+        assertThat(client.inFlightCalls()).isEqualTo(2);
+
+        assertThat(first.join()).map(MovieDetailDto::plot).contains(PLOT);
+        assertThat(shortPlot.join()).isPresent();
+        assertThat(client.fetchAsync("tt0133093", Plot.FULL)).isNotSameAs(first);
+    }
+
+    @Test
+    void refusesCallsPastTheBulkheadWithoutQueueing() throws IOException {
+        CircuitBreaker circuit = new CircuitBreaker(1, Duration.ofSeconds(30));
+        OmdbClient client = client(stub(Duration.ofMillis(300), 0), 1, circuit);
+
+        CompletableFuture<Optional<MovieDetailDto>> running = client.fetchAsync("tt0133093", Plot.FULL);
+        assertThatThrownBy(() -> client.fetch("tt0111161", Plot.FULL))
+                .isInstanceOf(UpstreamUnavailableException.class)
+                .hasMessageContaining("in flight");
+
+        // Recusada antes de chamar: não conta como falha do upstream
+        assertThat(circuit.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(running.join()).isPresent();
+        assertThat(client.fetch("tt0111161", Plot.FULL)).isPresent();
+    }
+
+    @Test
+    void opensTheCircuitAndClosesItAfterASuccessfulTrial() throws Exception {
+        CircuitBreaker circuit = new CircuitBreaker(2, Duration.ofMillis(200));
+        OmdbClient failing = client(stub(Duration.ZERO, 1), 4, circuit);
+        OmdbClient healthy = client(stub(Duration.ofMillis(300), 0), 4, circuit);
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> failing.fetch("tt0133093", Plot.FULL))
+                    .isInstanceOf(UpstreamUnavailableException.class)
+                    .hasMessageContaining("503");
+        }
+        assertThat(circuit.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> healthy.fetch("tt0133093", Plot.FULL)).hasMessageContaining("circuit is open");
+
+        Thread.sleep(250);
+        assertThat(circuit.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        CompletableFuture<Optional<MovieDetailDto>> trial = healthy.fetchAsync("tt0133093", Plot.FULL);
+        // Só uma chamada de teste por vez
+        assertThatThrownBy(() -> healthy.fetch("tt0111161", Plot.FULL)).hasMessageContaining("circuit is open");
+
+        assertThat(trial.join()).isPresent();
+        assertThat(circuit.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(healthy.fetch("tt0111161", Plot.FULL)).isPresent();
+    }
+
+    @Test
+    void reopensTheCircuitAfterAFailedTrial() throws Exception {
+        CircuitBreaker circuit = new CircuitBreaker(1, Duration.ofMillis(200));
+        OmdbClient failing = client(stub(Duration.ZERO, 1), 4, circuit);
+
+        assertThatThrownBy(() -> failing.fetch("tt0133093", Plot.FULL)).hasMessageContaining("503");
+        Thread.sleep(250);
+        assertThat(circuit.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        assertThatThrownBy(() -> failing.fetch("tt0133093", Plot.FULL)).hasMessageContaining("503");
+        assertThat(circuit.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> failing.fetch("tt0133093", Plot.FULL)).hasMessageContaining("circuit is open");
+    }
+
+    private OmdbStubServer stub(Duration latency, double failureRate) throws IOException {
+        OmdbStubServer stub = new OmdbStubServer(new MovieCatalogSource() {
+            @Override
+            public String name() {
+                return "test";
+            }
+
+            @Override
+            public void load(Consumer<MovieDetailDto> sink) {
+                sink.accept(movie("tt0133093", "The Matrix"));
+                sink.accept(movie("tt0111161", "The Shawshank Redemption"));
+            }
+        }, objectMapper, latency, failureRate);
+        stubs.add(stub);
+        return stub;
+    }
+
+    private OmdbClient client(OmdbStubServer stub, int maxConcurrent, CircuitBreaker circuit) {
+        return new OmdbClient(stub.baseUrl(), "test-key", Duration.ofSeconds(2), Duration.ofSeconds(5),
+                maxConcurrent, circuit, objectMapper);
+    }
+
+    private static MovieDetailDto movie(String imdbId, String title) {
+        return new MovieDetailDto(imdbId, title, "1999", "R", null, "136 min", "Action, Sci-Fi", null, null, null,
+                PLOT, "English", "United States", null, null, null, null, "8.7", "2,000,000", "movie", null, null,
+                null, null);
+    }
+}
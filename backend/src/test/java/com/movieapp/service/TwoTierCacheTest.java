@@ -0,0 +1,141 @@
+package com.movieapp.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.movieapp.dto.MovieDto;
+import com.movieapp.dto.SearchResponseDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NullValue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TwoTierCacheTest {
+
+    private final InMemorySharedCacheStore store = new InMemorySharedCacheStore(1 << 20);
+    private final AtomicReference<String> versionA = new AtomicReference<>("v1");
+    private final AtomicReference<String> versionB = new AtomicReference<>("v1");
+    private final RecordingBus busA = new RecordingBus();
+    private final TwoTierCache a = cache(busA, versionA);
+    private final TwoTierCache b = cache(InvalidationBus.NONE, versionB);
+
+    @Test
+    void readsWhatAnotherInstanceLoaded() {
+        SearchResponseDto page = page("tt0133093");
+        assertThat(a.get(1, () -> page)).isEqualTo(page);
+
+        assertThat(b.get(1, TwoTierCacheTest::notLoaded)).isEqualTo(page);
+        assertThat(b.sharedHits()).isEqualTo(1);
+        assertThat(a.sharedMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void sharesCachedMisses() {
+        DetailKey key = new DetailKey("tt9999999", Plot.SHORT);
+        assertThat(a.<Object>get(key, () -> null)).isNull();
+
+        assertThat(b.get(key, TwoTierCacheTest::notLoaded)).isNull();
+        assertThat(b.sharedHits()).isEqualTo(1);
+    }
+
+    @Test
+    void bulkReadsUseTheSharedTierFirst() {
+        a.put(1, page("tt0133093"));
+        a.put(2, null);
+
+        List<Set<?>> loaded = new ArrayList<>();
+        Map<Object, Object> found = b.getAll(Set.of(1, 2, 3), missing -> {
+            loaded.add(Set.copyOf(missing));
+            return Map.of(3, page("tt0903747"));
+        });
+
+        assertThat(loaded).containsExactly(Set.of(3));
+        assertThat(found).containsOnlyKeys(1, 2, 3);
+        assertThat(found.get(1)).isEqualTo(page("tt0133093"));
+        assertThat(found.get(2)).isSameAs(NullValue.INSTANCE);
+        assertThat(a.get(3, TwoTierCacheTest::notLoaded)).isEqualTo(page("tt0903747"));
+    }
+
+    @Test
+    void entriesAreScopedByCatalogVersion() {
+        versionB.set("v2");
+        a.put(1, page("tt0133093"));
+
+        assertThat(b.get(1, () -> page("tt0903747"))).isEqualTo(page("tt0903747"));
+        assertThat(a.get(1, TwoTierCacheTest::notLoaded)).isEqualTo(page("tt0133093"));
+
+        // O outro recarregou para a mesma versão: passa a enxergar as entradas dela
+        versionB.set("v1");
+        b.evictLocal(1);
+        assertThat(b.get(1, TwoTierCacheTest::notLoaded)).isEqualTo(page("tt0133093"));
+    }
+
+    @Test
+    void evictionsReachTheSharedTierAndTheBus() {
+        a.put(1, page("tt0133093"));
+        a.put(2, page("tt0903747"));
+
+        a.evictWhere(key -> key.equals(2));
+
+        assertThat(busA.published).containsExactly("movieSearch:2");
+        assertThat(b.get(1, TwoTierCacheTest::notLoaded)).isEqualTo(page("tt0133093"));
+        assertThat(b.get(2, () -> page("tt0111161"))).isEqualTo(page("tt0111161"));
+    }
+
+    @Test
+    void evictsKeysOnlyInTheSharedTier() {
+        b.put(1, page("tt0133093"));
+
+        a.evictWhere(key -> true);
+
+        assertThat(busA.published).containsExactly("movieSearch:1");
+        b.evictLocal(1);
+        assertThat(b.get(1, () -> page("tt0111161"))).isEqualTo(page("tt0111161"));
+    }
+
+    @Test
+    void clearsPastTheSelectiveLimit() {
+        for (int page = 1; page <= TwoTierCache.MAX_SELECTIVE_EVICTIONS + 1; page++) {
+            a.put(page, page("tt0133093"));
+        }
+
+        a.evictWhere(key -> true);
+
+        assertThat(busA.published).containsExactly("movieSearch:clear");
+        assertThat(a.getNativeCache().estimatedSize()).isZero();
+        assertThat(b.get(1, () -> page("tt0111161"))).isEqualTo(page("tt0111161"));
+    }
+
+    private TwoTierCache cache(InvalidationBus bus, AtomicReference<String> version) {
+        return new TwoTierCache("movieSearch", Caffeine.newBuilder().build(), store, bus, Duration.ofMinutes(5),
+                version::get);
+    }
+
+    private static SearchResponseDto page(String imdbId) {
+        return new SearchResponseDto(List.of(new MovieDto(imdbId, "Title of " + imdbId, "1999", "movie", null)),
+                "1", "True");
+    }
+
+    private static Object notLoaded() {
+        throw new AssertionError("expected a shared hit, not a load");
+    }
+
+    /** Records what was published, as {@code cache:key} or {@code cache:clear}. */
+    private static final class RecordingBus implements InvalidationBus {
+        final List<String> published = new ArrayList<>();
+
+        @Override
+        public void publish(String cache, byte[] key) {
+            published.add(cache + ":" + (key == null ? "clear" : CacheCodec.decodeKey(key)));
+        }
+
+        @Override
+        public void subscribe(Listener listener) {
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.movieapp.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.movieapp.dto.MovieDto;
+import com.movieapp.dto.SearchResponseDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UdpInvalidationBusTest {
+
+    private static final String SECRET = "shared-secret";
+
+    private final List<UdpInvalidationBus> buses = new ArrayList<>();
+    private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+    private final TwoTierCache cache = new TwoTierCache("movieSearch", Caffeine.newBuilder().build(),
+            SharedCacheStore.NONE, InvalidationBus.NONE, Duration.ofMinutes(5), () -> "v1");
+
+    @AfterEach
+    void closeBuses() {
+        buses.forEach(UdpInvalidationBus::close);
+    }
+
+    @Test
+    void appliesSignedEvictions() throws InterruptedException {
+        UdpInvalidationBus receiver = receiver();
+        UdpInvalidationBus sender = bus(SECRET, receiver.port());
+        cache.put(1, page());
+        cache.put(2, page());
+
+        sender.publish("movieSearch", CacheCodec.encodeKey(2));
+        assertThat(received.poll(5, TimeUnit.SECONDS)).isEqualTo("movieSearch:2");
+        assertThat(cache.get(2)).isNull();
+        assertThat(cache.get(1)).isNotNull();
+
+        sender.publish("movieSearch", null);
+        assertThat(received.poll(5, TimeUnit.SECONDS)).isEqualTo("movieSearch:clear");
+        assertThat(cache.get(1)).isNull();
+    }
+
+    @Test
+    void dropsForgedEvictions() throws Exception {
+        UdpInvalidationBus receiver = receiver();
+        cache.put(1, page());
+
+        bus("another-secret", receiver.port()).publish("movieSearch", CacheCodec.encodeKey(1));
+        bus("another-secret", receiver.port()).publish("movieSearch", null);
+        try (DatagramSocket raw = new DatagramSocket(0, InetAddress.getLoopbackAddress())) {
+            byte[] garbage = {0x4D, 0x49, 2, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0};
+            raw.send(new DatagramPacket(garbage, garbage.length, InetAddress.getLoopbackAddress(), receiver.port()));
+        }
+        // Um envio legítimo depois dos forjados: quando ele chega, os anteriores já foram descartados
+        bus(SECRET, receiver.port()).publish("movieDetail", CacheCodec.encodeKey(new DetailKey("tt0133093", Plot.FULL)));
+
+        assertThat(received.poll(5, TimeUnit.SECONDS)).isEqualTo("movieDetail:" + new DetailKey("tt0133093", Plot.FULL));
+        assertThat(received).isEmpty();
+        assertThat(cache.get(1)).isNotNull();
+    }
+
+    /** Listens on loopback and applies what it receives to {@link #cache}, like the invalidator does. */
+    private UdpInvalidationBus receiver() {
+        UdpInvalidationBus receiver = bus(SECRET, 0);
+        receiver.subscribe((name, key) -> {
+            if (key == null) {
+                cache.clearLocal();
+                received.add(name + ":clear");
+            } else {
+                Object decoded = CacheCodec.decodeKey(key);
+                cache.evictLocal(decoded);
+                received.add(name + ":" + decoded);
+            }
+        });
+        return receiver;
+    }
+
+    private UdpInvalidationBus bus(String secret, int peerPort) {
+        // Porta 0: cada barramento escolhe uma livre; o receptor aceita pacotes vindos do loopback
+        UdpInvalidationBus bus = new UdpInvalidationBus("127.0.0.1", 0,
+                List.of(new UdpInvalidationBus.Peer("127.0.0.1", peerPort == 0 ? 9 : peerPort)), secret);
+        buses.add(bus);
+        return bus;
+    }
+
+    private static SearchResponseDto page() {
+        return new SearchResponseDto(List.of(new MovieDto("tt0133093", "The Matrix", "1999", "movie", null)),
+                "1", "True");
+    }
+}